@@ -1,8 +1,74 @@
 package org.hypergraph_hash;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.hypergraph_hash.FileHashing.MAPPING_WINDOW_SIZE;
+import static org.hypergraph_hash.utilities.Validation.validateEquals;
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
 public interface CryptographicHash {
   byte[] hash(byte[] input);
 
+  default void hashAll(byte[][] inputs, byte[][] outputs) {
+    validateEquals(inputs.length, outputs.length, "inputs.length", "outputs.length");
+
+    for (int i = 0; i < inputs.length; i++) {
+      outputs[i] = hash(inputs[i]);
+    }
+  }
+
+  default byte[] hashBuffer(ByteBuffer input) {
+    Hasher hasher = newHasher();
+    hasher.update(input);
+
+    return hasher.digest();
+  }
+
+  default byte[] hashParts(ByteBuffer... parts) {
+    Hasher hasher = newHasher();
+
+    for (ByteBuffer part : parts) {
+      validateNotNull(part, "Part");
+
+      hasher.update(part);
+    }
+
+    return hasher.digest();
+  }
+
+  default byte[] hashParts(List<byte[]> parts) {
+    Hasher hasher = newHasher();
+
+    for (byte[] part : parts) {
+      validateNotNull(part, "Part");
+
+      hasher.update(part);
+    }
+
+    return hasher.digest();
+  }
+
+  default byte[] hashFile(Path file) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return hashFile(channel);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read file: " + file, e);
+    }
+  }
+
+  /// Hashes through read-only mappings of at most 64 MiB. The mappings are not unmapped explicitly,
+  /// they are released when garbage collected, so hashing many large files may hold address space until then
+  default byte[] hashFile(FileChannel channel) {
+    return FileHashing.hashMapped(newHasher(), channel, MAPPING_WINDOW_SIZE);
+  }
+
+  Hasher newHasher();
+
   int getHashLength();
 
   String getAlgorithmName();
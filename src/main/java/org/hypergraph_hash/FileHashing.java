@@ -0,0 +1,28 @@
+package org.hypergraph_hash;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+
+/// Tuning of CryptographicHash.hashFile, kept out of the public interface
+final class FileHashing {
+  static final long MAPPING_WINDOW_SIZE = 1L << 26;
+
+  private FileHashing() {}
+
+  /// Feeds the channel to the hasher through read-only mappings of at most windowSize bytes
+  static byte[] hashMapped(Hasher hasher, FileChannel channel, long windowSize) {
+    try {
+      long size = channel.size();
+
+      for (long position = 0; position < size; position += windowSize) {
+        long length = Math.min(windowSize, size - position);
+
+        hasher.update(channel.map(FileChannel.MapMode.READ_ONLY, position, length));
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to map file channel", e);
+    }
+
+    return hasher.digest();
+  }
+}
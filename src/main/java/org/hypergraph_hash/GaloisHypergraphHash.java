@@ -5,55 +5,158 @@ import org.hypergraph_hash.hypergraph.transform.hash.GaloisHypergraphTransform;
 import org.hypergraph_hash.tables.Irreducible;
 import org.hypergraph_hash.operations.GaloisFieldOperations;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.IntStream;
+
 import static org.hypergraph_hash.operations.BitOperations.*;
 import static org.hypergraph_hash.operations.GaloisFieldOperations.GF8_SIZE;
 import static org.hypergraph_hash.tables.SBox.getSBox;
+import static org.hypergraph_hash.utilities.Validation.validateEquals;
 
 public class GaloisHypergraphHash extends MerkleDamgardConstruction {
+  // Messages hashed in lock-step by hashAll
+  private static final int LANES = 16;
+
+  private final GaloisHypergraphTransform laneTransform;
+
   private final int gf8Irreducible;
 
   private final int edgeDimension; // k
 
+  // Per-key lookup tables of the chaining value mixing step
+  private final int[] transformedSBox;
+  private final int[] chainingSBox;
+  private final byte[] mixProducts; // [a << 8 | b], 0 when a zero replacement is needed
+  private final byte[] zeroReplacements; // [i << 8 | other]
+
   public GaloisHypergraphHash(HomogenousHypergraph key, int hashLength) {
     super(new GaloisHypergraphTransform(key), hashLength);
 
+    laneTransform = (GaloisHypergraphTransform) blockTransform;
+
     edgeDimension = key.getEdgeDimension();
     gf8Irreducible = Irreducible.getGF8((edgeDimension + 16) % 30);
+
+    transformedSBox = new int[GF8_SIZE];
+    chainingSBox = new int[GF8_SIZE];
+    for (int x = 0; x < GF8_SIZE; x++) {
+      transformedSBox[x] = getSBox(edgeDimension + 1, x);
+      chainingSBox[x] = getSBox(edgeDimension + 2, x);
+    }
+
+    mixProducts = new byte[GF8_SIZE * GF8_SIZE];
+    for (int a = 0; a < GF8_SIZE; a++) {
+      for (int b = 0; b < GF8_SIZE; b++) {
+        mixProducts[a << 8 | b] = (byte) GaloisFieldOperations.mult(
+                transformedSBox[a], chainingSBox[b], gf8Irreducible, GF8_SIZE);
+      }
+    }
+
+    int blockSize = key.getVerticesCount();
+
+    zeroReplacements = new byte[blockSize * GF8_SIZE];
+    for (int i = 0; i < blockSize; i++) {
+      for (int other = 0; other < GF8_SIZE; other++) {
+        zeroReplacements[i << 8 | other] = (byte) zeroReplacement(i, other, blockSize);
+      }
+    }
   }
 
   @Override
   protected byte[] compressionFunction(byte[] inputBlock, byte[] prevHash) {
-    byte[] res = blockTransform.encryption(inputBlock);
+    byte[] res = new byte[getBlockSize()];
+    blockTransform.encrypt(inputBlock, 0, res, 0);
 
-    for (int i = 0; i < prevHash.length; i++) {
-      int a = getSBox(edgeDimension + 1, res[i] & 0xFF);
-      int b = getSBox(edgeDimension + 2, prevHash[i] & 0xFF);
+    mixChainingValue(res, 0, 1, prevHash, res);
 
-      if (a == 0) {
-        a = zeroReplacement(i, b, prevHash.length);
+    return res;
+  }
+
+  @Override
+  protected void compressionFunctionInPlace(byte[] inputBlock, byte[] chainingValue) {
+    blockTransform.encryptInPlace(inputBlock, 0);
+
+    mixChainingValue(inputBlock, 0, 1, chainingValue, chainingValue);
+  }
+
+  /// Multi-buffer hashing: groups of LANES messages are padded into one interleaved buffer per block index
+  /// and compressed together by GaloisHypergraphTransform.encryptLanes
+  @Override
+  public void hashAll(byte[][] inputs, byte[][] outputs) {
+    validateEquals(inputs.length, outputs.length, "inputs.length", "outputs.length");
+
+    int blockSize = getBlockSize();
+
+    // Longest first, so the lanes still running at a block index are a prefix of their group
+    int[] order = IntStream.range(0, inputs.length).boxed()
+            .sorted(Comparator.comparingInt(i -> inputs[i] == null ? 0 : -inputs[i].length))
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+    byte[] block = new byte[blockSize];
+    byte[] lanesText = new byte[LANES * blockSize];
+    byte[][] chainingValues = new byte[LANES][blockSize];
+    int[] blockCounts = new int[LANES];
+
+    for (int groupStart = 0; groupStart < order.length; groupStart += LANES) {
+      int lanes = Math.min(LANES, order.length - groupStart);
+
+      for (int lane = 0; lane < lanes; lane++) {
+        byte[] input = inputs[order[groupStart + lane]];
+
+        blockCounts[lane] = input == null || input.length == 0 ? 0 : paddedBlockCount(input.length);
+        System.arraycopy(getIV(), 0, chainingValues[lane], 0, blockSize);
       }
 
-      if (b == 0) {
-        b = zeroReplacement(i, a, prevHash.length);
+      for (int blockIndex = 0; blockIndex < blockCounts[0]; blockIndex++) {
+        int active = 0;
+        while (active < lanes && blockCounts[active] > blockIndex) {
+          active++;
+        }
+
+        for (int lane = 0; lane < active; lane++) {
+          byte[] input = inputs[order[groupStart + lane]];
+          fillPaddedBlock(input, 0, input.length, (long) input.length * 8, blockIndex, blockCounts[lane], block);
+
+          for (int i = 0; i < blockSize; i++) {
+            lanesText[i * active + lane] = block[i];
+          }
+        }
+
+        laneTransform.encryptLanes(lanesText, active);
+
+        for (int lane = 0; lane < active; lane++) {
+          mixChainingValue(lanesText, lane, active, chainingValues[lane], chainingValues[lane]);
+        }
       }
 
-      res[i] = (byte) GaloisFieldOperations.mult(a, b, gf8Irreducible, GF8_SIZE);
+      for (int lane = 0; lane < lanes; lane++) {
+        outputs[order[groupStart + lane]] = blockCounts[lane] == 0
+                ? new byte[blockSize]
+                : finalisationFunction(chainingValues[lane]);
+      }
     }
-
-    return res;
   }
 
   @Override
   protected byte[] finalisationFunction(byte[] input) {
     byte[] res = new byte[hashLength];
 
+    finalisationFunction(input, res);
+
+    return res;
+  }
+
+  @Override
+  protected void finalisationFunction(byte[] input, byte[] output) {
+    Arrays.fill(output, 0, hashLength, (byte) 0);
+
     int rounds = Math.ceilDiv(input.length, hashLength);
 
     for (int i = 0; i < rounds; i++) {
-      xorIncompleteInPlace(res, 0, input, hashLength * i, hashLength);
+      xorIncompleteInPlace(output, 0, input, hashLength * i, hashLength);
     }
-
-    return res;
   }
 
   @Override
@@ -61,6 +164,37 @@ public class GaloisHypergraphHash extends MerkleDamgardConstruction {
     return "GaloisHypergraphHash";
   }
 
+  // Byte i of the transformed block is transformed[offset + i * stride]
+  private void mixChainingValue(byte[] transformed, int offset, int stride, byte[] prevHash, byte[] output) {
+    for (int i = 0; i < prevHash.length; i++) {
+      int x = transformed[offset + i * stride] & 0xFF;
+      int y = prevHash[i] & 0xFF;
+
+      byte product = mixProducts[x << 8 | y];
+
+      if (product == 0) {
+        product = mixWithZeroReplacement(i, x, y);
+      }
+
+      output[i] = product;
+    }
+  }
+
+  private byte mixWithZeroReplacement(int i, int x, int y) {
+    int a = transformedSBox[x];
+    int b = chainingSBox[y];
+
+    if (a == 0) {
+      a = zeroReplacements[i << 8 | b] & 0xFF;
+    }
+
+    if (b == 0) {
+      b = zeroReplacements[i << 8 | a] & 0xFF;
+    }
+
+    return (byte) GaloisFieldOperations.mult(a, b, gf8Irreducible, GF8_SIZE);
+  }
+
   private int zeroReplacement(int i, int other, int len) {
     int shift = (i ^ other ^ len) & 7;
     int rotated = leftRotation(other, shift);
@@ -0,0 +1,86 @@
+package org.hypergraph_hash;
+
+import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
+import org.hypergraph_hash.hypergraph.transform.hash.GaloisHypergraphTransform;
+
+import static org.hypergraph_hash.utilities.CryptoUtilities.getHashIV;
+import static org.hypergraph_hash.utilities.Validation.validatePositive;
+
+/// Sponge-style hash over the GaloisHypergraphTransform state. The transform is not a permutation: zero bytes
+/// are replaced by non-zero constants before multiplying, so distinct states can map to the same state.
+/// It serves as a non-injective mixing function, and the bounds proven for sponges over a random permutation
+/// do not carry over
+public class GaloisHypergraphSponge implements CryptographicHash {
+  private final GaloisHypergraphTransform mixingFunction;
+
+  private final int stateSize;
+  private final int rate;
+  private final int hashLength;
+
+  private final byte[] iv;
+
+  public GaloisHypergraphSponge(HomogenousHypergraph key, int rate, int hashLength) {
+    mixingFunction = new GaloisHypergraphTransform(key);
+    stateSize = mixingFunction.getBlockSize();
+
+    if (rate <= 0 || rate >= stateSize) {
+      throw new IllegalArgumentException("rate must be a positive number < " + stateSize);
+    }
+    validatePositive(hashLength, "hashLength");
+
+    this.rate = rate;
+    this.hashLength = hashLength;
+
+    iv = getHashIV(stateSize);
+  }
+
+  @Override
+  public byte[] hash(byte[] input) {
+    return hash(input, hashLength);
+  }
+
+  public byte[] hash(byte[] input, int outputLength) {
+    SpongeHasher hasher = newHasher();
+
+    if (input != null) {
+      hasher.update(input);
+    }
+
+    return hasher.squeeze(outputLength);
+  }
+
+  @Override
+  public SpongeHasher newHasher() {
+    return new SpongeHasher(this);
+  }
+
+  public final int getRate() {
+    return rate;
+  }
+
+  public final int getCapacity() {
+    return stateSize - rate;
+  }
+
+  public final int getStateSize() {
+    return stateSize;
+  }
+
+  @Override
+  public int getHashLength() {
+    return hashLength;
+  }
+
+  @Override
+  public String getAlgorithmName() {
+    return "GaloisHypergraphSponge";
+  }
+
+  byte[] getIV() {
+    return iv.clone();
+  }
+
+  void mix(byte[] state) {
+    mixingFunction.encryptInPlace(state, 0);
+  }
+}
@@ -0,0 +1,139 @@
+package org.hypergraph_hash;
+
+import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hypergraph_hash.utilities.Validation.*;
+
+public class GaloisHypergraphTreeHash implements CryptographicHash {
+  public static final int DEFAULT_CHUNK_SIZE = 1 << 16;
+  public static final int DEFAULT_ARITY = 2;
+
+  private static final byte LEAF_PREFIX = 0x00;
+  private static final byte NODE_PREFIX = 0x01;
+  private static final byte ROOT_PREFIX = 0x02;
+
+  private final GaloisHypergraphHash nodeHash;
+  private final GaloisHypergraphHash rootHash;
+
+  private final int chunkSize;
+  private final int arity;
+
+  public GaloisHypergraphTreeHash(HomogenousHypergraph key, int hashLength) {
+    this(key, hashLength, DEFAULT_CHUNK_SIZE, DEFAULT_ARITY);
+  }
+
+  public GaloisHypergraphTreeHash(HomogenousHypergraph key, int hashLength, int chunkSize, int arity) {
+    validatePositive(chunkSize, "chunkSize");
+    validateNonLess(arity, 2, "arity");
+
+    this.chunkSize = chunkSize;
+    this.arity = arity;
+
+    nodeHash = new GaloisHypergraphHash(key, key.getVerticesCount());
+    rootHash = new GaloisHypergraphHash(key, hashLength);
+  }
+
+  @Override
+  public byte[] hash(byte[] input) {
+    TreeHasher hasher = newHasher();
+
+    if (input != null) {
+      hasher.update(input);
+    }
+
+    return hasher.digest();
+  }
+
+  @Override
+  public TreeHasher newHasher() {
+    return new TreeHasher(this);
+  }
+
+  public byte[] leafDigest(byte[] chunk, int offset, int length) {
+    return leafDigest(ByteBuffer.wrap(chunk, offset, length));
+  }
+
+  public byte[] leafDigest(ByteBuffer chunk) {
+    validateNotNull(chunk, "Chunk");
+
+    if (chunk.remaining() > chunkSize) {
+      throw new IllegalArgumentException("Chunk must not be longer than " + chunkSize + " bytes");
+    }
+
+    Hasher hasher = nodeHash.newHasher();
+    hasher.update(new byte[] {LEAF_PREFIX});
+    hasher.update(chunk);
+
+    return hasher.digest();
+  }
+
+  public byte[] combine(List<byte[]> leafDigests) {
+    validateNonEmpty(leafDigests, "List leafDigests");
+
+    TreeHasher hasher = newHasher();
+    for (byte[] leafDigest : leafDigests) {
+      validateEquals(leafDigest.length, getNodeLength(), "leafDigest.length", "nodeLength");
+
+      hasher.addNode(0, leafDigest);
+    }
+
+    return hasher.digestNodes();
+  }
+
+  public final int getChunkSize() {
+    return chunkSize;
+  }
+
+  public final int getArity() {
+    return arity;
+  }
+
+  public final int getNodeLength() {
+    return nodeHash.getHashLength();
+  }
+
+  @Override
+  public int getHashLength() {
+    return rootHash.getHashLength();
+  }
+
+  @Override
+  public String getAlgorithmName() {
+    return "GaloisHypergraphTreeHash";
+  }
+
+  byte[][] leafDigests(ByteBuffer input, int count) {
+    byte[][] digests = new byte[count][];
+    int base = input.position();
+
+    IntStream.range(0, count).parallel().forEach(i ->
+            digests[i] = leafDigest(input.slice(base + i * chunkSize, chunkSize)));
+
+    input.position(base + count * chunkSize);
+
+    return digests;
+  }
+
+  byte[] nodeDigest(List<byte[]> children) {
+    Hasher hasher = nodeHash.newHasher();
+    hasher.update(new byte[] {NODE_PREFIX});
+
+    for (byte[] child : children) {
+      hasher.update(child);
+    }
+
+    return hasher.digest();
+  }
+
+  byte[] rootDigest(byte[] top) {
+    Hasher hasher = rootHash.newHasher();
+    hasher.update(new byte[] {ROOT_PREFIX});
+    hasher.update(top);
+
+    return hasher.digest();
+  }
+}
@@ -0,0 +1,28 @@
+package org.hypergraph_hash;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+public interface Hasher {
+  void update(byte[] input, int offset, int length);
+
+  void update(ByteBuffer input);
+
+  default void update(byte[] input) {
+    update(input, 0, input.length);
+  }
+
+  byte[] digest();
+
+  /// Writes the first length bytes of digest() to output[offset ..] and resets;
+  /// implementations may skip the intermediate digest array
+  default void digest(byte[] output, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, output.length);
+
+    System.arraycopy(digest(), 0, output, offset, length);
+  }
+
+  void reset();
+
+  Hasher copy();
+}
@@ -3,23 +3,101 @@ package org.hypergraph_hash;
 import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
 import org.hypergraph_hash.hypergraph.transform.HypergraphEncryption;
 
-public class HypergraphEncryptionHash extends MerkleDamgardConstruction{
+import java.util.Arrays;
+
+import static org.hypergraph_hash.operations.BitOperations.*;
+import static org.hypergraph_hash.operations.GaloisFieldOperations.GF8_SIZE;
+import static org.hypergraph_hash.tables.SBox.getSBox;
+
+public class HypergraphEncryptionHash extends MerkleDamgardConstruction {
+  private static final int ROUNDS = 2;
+
+  private final byte[][] roundSBoxes;
+
+  private final ThreadLocal<byte[]> keyScratch;
+
   public HypergraphEncryptionHash(HomogenousHypergraph key, int smallBlockSize, int hashLength) {
     super(new HypergraphEncryption(key, smallBlockSize), hashLength);
+
+    roundSBoxes = new byte[ROUNDS][GF8_SIZE];
+    for (int round = 0; round < ROUNDS; round++) {
+      for (int x = 0; x < GF8_SIZE; x++) {
+        roundSBoxes[round][x] = (byte) getSBox(key.getEdgeDimension() + round, x);
+      }
+    }
+
+    int blockSize = key.getVerticesCount() * smallBlockSize;
+    keyScratch = ThreadLocal.withInitial(() -> new byte[blockSize]);
   }
 
+  // Miyaguchi–Preneel: H' = E_H(m) ^ m ^ H
   @Override
   protected byte[] compressionFunction(byte[] inputBlock, byte[] prevHash) {
-    return new byte[0];
+    byte[] res = Arrays.copyOf(inputBlock, inputBlock.length);
+
+    encrypt(res, prevHash);
+    xorInPlace(res, 0, inputBlock, 0, res.length);
+    xorInPlace(res, 0, prevHash, 0, res.length);
+
+    return res;
   }
 
+  @Override
+  protected void compressionFunctionInPlace(byte[] inputBlock, byte[] chainingValue) {
+    byte[] roundKey = keyScratch.get();
+    System.arraycopy(chainingValue, 0, roundKey, 0, chainingValue.length);
+
+    xorInPlace(chainingValue, 0, inputBlock, 0, chainingValue.length);
+
+    encrypt(inputBlock, roundKey);
+    xorInPlace(chainingValue, 0, inputBlock, 0, chainingValue.length);
+  }
+
+  // H' = E_H(H) ^ H, folded to the hash length
   @Override
   protected byte[] finalisationFunction(byte[] input) {
-    return new byte[0];
+    byte[] state = Arrays.copyOf(input, input.length);
+
+    encrypt(state, input);
+    xorInPlace(state, 0, input, 0, input.length);
+
+    byte[] res = new byte[hashLength];
+
+    int rounds = Math.ceilDiv(state.length, hashLength);
+    for (int i = 0; i < rounds; i++) {
+      xorIncompleteInPlace(res, 0, state, hashLength * i, hashLength);
+    }
+
+    return res;
   }
 
   @Override
   public String getAlgorithmName() {
     return "HypergraphEncryptionHash";
   }
+
+  // Every round whitens the state with the key passed through the round S-box,
+  // so the rounds depend on the chaining value and not only on m ^ H
+  private void encrypt(byte[] state, byte[] key) {
+    for (byte[] sBox : roundSBoxes) {
+      for (int i = 0; i < state.length; i++) {
+        state[i] ^= sBox[key[i] & 0xFF];
+      }
+
+      blockTransform.encryptInPlace(state, 0);
+
+      substituteChained(state, sBox);
+    }
+  }
+
+  // The XOR transform only mixes equal byte positions of small blocks,
+  // so the substitution carries each output into the next byte
+  private static void substituteChained(byte[] state, byte[] sBox) {
+    int carry = state[state.length - 1];
+
+    for (int i = 0; i < state.length; i++) {
+      carry = sBox[(state[i] ^ carry) & 0xFF];
+      state[i] = (byte) carry;
+    }
+  }
 }
@@ -0,0 +1,106 @@
+package org.hypergraph_hash;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
+/// HMAC over a Merkle–Damgård hash: H((K ^ opad) || H((K ^ ipad) || m)), pad blocks compressed once per key
+public class HypergraphMac {
+  private static final byte IPAD = 0x36;
+  private static final byte OPAD = 0x5C;
+
+  private final MerkleDamgardConstruction hash;
+  private final int blockSize;
+  private final int tagLength;
+
+  private final byte[] innerState;
+  private final byte[] outerState;
+
+  private final ThreadLocal<byte[][]> scratch;
+
+  public HypergraphMac(MerkleDamgardConstruction hash, byte[] key) {
+    validateNotNull(hash, "Hash");
+    validateNotNull(key, "Key");
+
+    this.hash = hash;
+    this.blockSize = hash.getBlockSize();
+    this.tagLength = hash.getHashLength();
+
+    byte[] blockKey = Arrays.copyOf(key.length > blockSize ? hash.hash(key) : key, blockSize);
+
+    innerState = compressKeyBlock(blockKey, IPAD);
+    outerState = compressKeyBlock(blockKey, OPAD);
+
+    Arrays.fill(blockKey, (byte) 0);
+
+    scratch = ThreadLocal.withInitial(() -> new byte[][] {
+            new byte[tagLength], new byte[tagLength]
+    });
+  }
+
+  public byte[] mac(byte[] message) {
+    validateNotNull(message, "Message");
+
+    byte[] tag = new byte[tagLength];
+    mac(message, 0, message.length, tag, 0);
+
+    return tag;
+  }
+
+  public void mac(byte[] message, int offset, int length, byte[] tag, int tagOffset) {
+    Objects.checkFromIndexSize(tagOffset, tagLength, tag.length);
+
+    byte[] res = computeToScratch(message, offset, length);
+
+    System.arraycopy(res, 0, tag, tagOffset, tagLength);
+  }
+
+  public boolean verify(byte[] message, byte[] tag) {
+    validateNotNull(message, "Message");
+    validateNotNull(tag, "Tag");
+
+    return tag.length == tagLength && verify(message, 0, message.length, tag, 0);
+  }
+
+  // Constant-time comparison of the computed tag with tag[tagOffset .. tagOffset + tagLength)
+  public boolean verify(byte[] message, int offset, int length, byte[] tag, int tagOffset) {
+    Objects.checkFromIndexSize(tagOffset, tagLength, tag.length);
+
+    byte[] res = computeToScratch(message, offset, length);
+
+    int diff = 0;
+    for (int i = 0; i < tagLength; i++) {
+      diff |= res[i] ^ tag[tagOffset + i];
+    }
+
+    return diff == 0;
+  }
+
+  public final int getTagLength() {
+    return tagLength;
+  }
+
+  private byte[] computeToScratch(byte[] message, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, message.length);
+
+    byte[][] buffers = scratch.get();
+    byte[] innerDigest = buffers[0];
+    byte[] tag = buffers[1];
+
+    hash.hashFromState(innerState, blockSize, message, offset, length, innerDigest);
+    hash.hashFromState(outerState, blockSize, innerDigest, 0, tagLength, tag);
+
+    return tag;
+  }
+
+  private byte[] compressKeyBlock(byte[] blockKey, byte pad) {
+    byte[] block = new byte[blockSize];
+
+    for (int i = 0; i < blockSize; i++) {
+      block[i] = (byte) (blockKey[i] ^ pad);
+    }
+
+    return hash.compressionFunction(block, hash.getIV());
+  }
+}
@@ -1,20 +1,26 @@
 package org.hypergraph_hash;
 
 import org.hypergraph_hash.hypergraph.transform.BlockTransform;
-import org.hypergraph_hash.symmetric_encryption.block.ArrayRead;
-import org.hypergraph_hash.symmetric_encryption.block.ReadBlock;
-import org.hypergraph_hash.symmetric_encryption.modes.Padding;
+import org.hypergraph_hash.utilities.HashFingerprint;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 
-import static org.hypergraph_hash.symmetric_encryption.enums.PaddingMode.NO;
 import static org.hypergraph_hash.utilities.CryptoUtilities.getHashIV;
 
 public abstract class MerkleDamgardConstruction implements CryptographicHash {
+  static final int LENGTH_BYTES = 8;
+
   private final int blockSize;
   protected final int hashLength;
   
   protected final BlockTransform blockTransform;
   private final byte[] iv;
 
+  private final ThreadLocal<byte[][]> scratch;
+
+  private volatile byte[] fingerprint;
+
   protected MerkleDamgardConstruction(BlockTransform blockTransform, int hashLength) {
     this(blockTransform, hashLength, getHashIV(blockTransform.getBlockSize()));
   }
@@ -31,6 +37,10 @@ public abstract class MerkleDamgardConstruction implements CryptographicHash {
 
     this.iv = new byte[blockSize];
     System.arraycopy(iv, 0, this.iv, 0, blockSize);
+
+    scratch = ThreadLocal.withInitial(() -> new byte[][] {
+            new byte[blockSize], new byte[blockSize], new byte[hashLength]
+    });
   }
 
   @Override
@@ -39,49 +49,152 @@ public abstract class MerkleDamgardConstruction implements CryptographicHash {
       return new byte[blockSize];
     }
 
-    input = padding(input);
-    ReadBlock readBlock = new ArrayRead(input, blockSize, new Padding(blockSize, NO)::fill);
+    Hasher hasher = newHasher();
+    hasher.update(input);
+
+    return hasher.digest();
+  }
+
+  public long hashToLong(byte[] input, int offset, int length) {
+    if (hashLength < Long.BYTES) {
+      throw new IllegalStateException("hash length must be at least " + Long.BYTES + " bytes");
+    }
+
+    byte[] digest = hashToScratch(input, offset, length);
+
+    return digest == null ? 0 : readLong(digest, 0);
+  }
+
+  public void hashTo128(byte[] input, int offset, int length, long[] output) {
+    if (hashLength < 2 * Long.BYTES) {
+      throw new IllegalStateException("hash length must be at least " + 2 * Long.BYTES + " bytes");
+    }
+    Objects.checkFromIndexSize(0, 2, output.length);
+
+    byte[] digest = hashToScratch(input, offset, length);
 
-    int blockCount = input.length / blockSize;
-    byte[] first = readBlock.get(0);
+    output[0] = digest == null ? 0 : readLong(digest, 0);
+    output[1] = digest == null ? 0 : readLong(digest, Long.BYTES);
+  }
 
-    byte[] hash = compressionFunction(first, iv);
+  @Override
+  public MerkleDamgardHasher newHasher() {
+    return new MerkleDamgardHasher(this);
+  }
+
+  public MerkleDamgardHasher resumeHasher(byte[] checkpoint) {
+    return new MerkleDamgardHasher(this, checkpoint);
+  }
 
-    for (int i = 1; i < blockCount; i++) {
-      byte[] m = readBlock.get(i);
+  // Ties checkpoints to the key; computed on first use because it runs the hash
+  byte[] getFingerprint() {
+    byte[] res = fingerprint;
 
-      hash = compressionFunction(m, hash);
+    if (res == null) {
+      res = HashFingerprint.of(this).getBytes(StandardCharsets.UTF_8);
+      fingerprint = res;
     }
 
-    return finalisationFunction(hash);
+    return res;
   }
 
   protected abstract byte[] compressionFunction(byte[] inputBlock, byte[] prevHash);
 
   protected abstract byte[] finalisationFunction(byte[] input);
 
-  private byte[] padding(byte[] input) {
-    int lengthBytes = 8;
-    long messageBits = (long) input.length * 8;
+  protected void compressionFunctionInPlace(byte[] inputBlock, byte[] chainingValue) {
+    byte[] res = compressionFunction(inputBlock, chainingValue);
+
+    System.arraycopy(res, 0, chainingValue, 0, chainingValue.length);
+  }
+
+  protected void finalisationFunction(byte[] input, byte[] output) {
+    byte[] res = finalisationFunction(input);
+
+    System.arraycopy(res, 0, output, 0, hashLength);
+  }
+
+  private byte[] hashToScratch(byte[] input, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, input.length);
 
-    int totalLength = input.length + 1 + lengthBytes;
-    while (totalLength % blockSize != 0) {
-      totalLength++;
+    if (length == 0) {
+      return null;
     }
 
-    byte[] res = new byte[totalLength];
-    System.arraycopy(input, 0, res, 0, input.length);
+    byte[] digest = scratch.get()[2];
+
+    hashFromState(iv, 0, input, offset, length, digest);
+
+    return digest;
+  }
+
+  // Continues a message whose first prefixLength bytes (a multiple of blockSize) compressed to state
+  void hashFromState(byte[] state, long prefixLength, byte[] input, int offset, int length, byte[] digest) {
+    byte[][] buffers = scratch.get();
+    byte[] block = buffers[0];
+    byte[] chainingValue = buffers[1];
+
+    System.arraycopy(state, 0, chainingValue, 0, blockSize);
+
+    long messageBits = (prefixLength + length) * 8;
+
+    int blockCount = paddedBlockCount(length);
+    for (int blockIndex = 0; blockIndex < blockCount; blockIndex++) {
+      fillPaddedBlock(input, offset, length, messageBits, blockIndex, blockCount, block);
+
+      compressionFunctionInPlace(block, chainingValue);
+    }
+
+    finalisationFunction(chainingValue, digest);
+  }
+
+  final int paddedBlockCount(int length) {
+    return Math.ceilDiv(length + 1 + LENGTH_BYTES, blockSize);
+  }
 
-    res[input.length] = (byte) 0x80;
+  private static long readLong(byte[] bytes, int offset) {
+    long res = 0;
 
-    int lengthPos = res.length - lengthBytes;
-    for (int i = 0; i < lengthBytes; i++) {
-      res[lengthPos + i] = (byte) (messageBits >>> (56 - i * 8));
+    for (int i = 0; i < Long.BYTES; i++) {
+      res = (res << 8) | (bytes[offset + i] & 0xFF);
     }
 
     return res;
   }
 
+  // Builds block blockIndex of the padded input directly, without the padded copy
+  final void fillPaddedBlock(byte[] input, int offset, int length, long messageBits,
+                             int blockIndex, int blockCount, byte[] block) {
+    int start = blockIndex * blockSize;
+    int count = Math.clamp(length - start, 0, blockSize);
+
+    if (count > 0) {
+      System.arraycopy(input, offset + start, block, 0, count);
+    }
+
+    int lengthPos = blockCount * blockSize - LENGTH_BYTES;
+
+    for (int i = count; i < blockSize; i++) {
+      int position = start + i;
+
+      if (position == length) {
+        block[i] = (byte) 0x80;
+      } else if (position >= lengthPos) {
+        block[i] = (byte) (messageBits >>> (56 - (position - lengthPos) * 8));
+      } else {
+        block[i] = 0;
+      }
+    }
+  }
+
+  final byte[] getIV() {
+    return iv;
+  }
+
+  public final int getBlockSize() {
+    return blockSize;
+  }
+
   @Override
   public final int getHashLength() {
     return hashLength;
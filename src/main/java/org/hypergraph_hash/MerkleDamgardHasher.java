@@ -0,0 +1,230 @@
+package org.hypergraph_hash;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Objects;
+
+import static org.hypergraph_hash.MerkleDamgardConstruction.LENGTH_BYTES;
+import static org.hypergraph_hash.utilities.Validation.validateEquals;
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
+public class MerkleDamgardHasher implements Hasher {
+  private static final byte CHECKPOINT_VERSION = 2;
+  // version, block size, fingerprint length, message length, chaining value length; the fingerprint follows
+  private static final int CHECKPOINT_HEADER_SIZE = 1 + Integer.BYTES + Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+  private final MerkleDamgardConstruction construction;
+  private final int blockSize;
+
+  private final byte[] buffer;
+  private int bufferLength;
+
+  private final byte[] digestScratch;
+
+  private byte[] chainingValue;
+  private long messageLength;
+
+  MerkleDamgardHasher(MerkleDamgardConstruction construction) {
+    this.construction = construction;
+    this.blockSize = construction.getBlockSize();
+
+    buffer = new byte[blockSize];
+    digestScratch = new byte[construction.getHashLength()];
+
+    reset();
+  }
+
+  private MerkleDamgardHasher(MerkleDamgardHasher other) {
+    construction = other.construction;
+    blockSize = other.blockSize;
+
+    buffer = other.buffer.clone();
+    bufferLength = other.bufferLength;
+
+    digestScratch = new byte[other.digestScratch.length];
+
+    chainingValue = other.chainingValue;
+    messageLength = other.messageLength;
+  }
+
+  MerkleDamgardHasher(MerkleDamgardConstruction construction, byte[] checkpoint) {
+    this(construction);
+
+    validateNotNull(checkpoint, "Checkpoint");
+
+    ByteBuffer state = ByteBuffer.wrap(checkpoint);
+    if (checkpoint.length < CHECKPOINT_HEADER_SIZE || state.get() != CHECKPOINT_VERSION) {
+      throw new IllegalArgumentException("Unsupported checkpoint format");
+    }
+
+    validateEquals(state.getInt(), blockSize, "checkpoint block size", "blockSize");
+
+    byte[] fingerprint = construction.getFingerprint();
+    int fingerprintLength = state.getInt();
+
+    if (fingerprintLength != fingerprint.length || checkpoint.length < CHECKPOINT_HEADER_SIZE + fingerprintLength
+        || !Arrays.equals(fingerprint, Arrays.copyOfRange(checkpoint, state.position(),
+                                                          state.position() + fingerprintLength))) {
+      throw new IllegalArgumentException("Checkpoint was made with another key or algorithm");
+    }
+    state.position(state.position() + fingerprintLength);
+
+    long length = state.getLong();
+    int chainingLength = state.getInt();
+
+    if (length < 0 || chainingLength != blockSize
+        || checkpoint.length != CHECKPOINT_HEADER_SIZE + fingerprintLength + chainingLength
+                                + (int) (length % blockSize)) {
+      throw new IllegalArgumentException("Corrupted checkpoint");
+    }
+
+    messageLength = length;
+
+    chainingValue = new byte[chainingLength];
+    state.get(chainingValue);
+
+    bufferLength = (int) (length % blockSize);
+    state.get(buffer, 0, bufferLength);
+  }
+
+  @Override
+  public void update(byte[] input, int offset, int length) {
+    validateNotNull(input, "Input");
+    Objects.checkFromIndexSize(offset, length, input.length);
+
+    messageLength += length;
+
+    if (bufferLength > 0) {
+      int count = Math.min(length, blockSize - bufferLength);
+
+      System.arraycopy(input, offset, buffer, bufferLength, count);
+      bufferLength += count;
+      offset += count;
+      length -= count;
+
+      if (bufferLength < blockSize) {
+        return;
+      }
+
+      compressBuffer();
+    }
+
+    for (; length >= blockSize; offset += blockSize, length -= blockSize) {
+      System.arraycopy(input, offset, buffer, 0, blockSize);
+      compressBuffer();
+    }
+
+    System.arraycopy(input, offset, buffer, 0, length);
+    bufferLength = length;
+  }
+
+  @Override
+  public void update(ByteBuffer input) {
+    validateNotNull(input, "Input");
+
+    messageLength += input.remaining();
+
+    while (input.hasRemaining()) {
+      int count = Math.min(input.remaining(), blockSize - bufferLength);
+
+      input.get(buffer, bufferLength, count);
+      bufferLength += count;
+
+      if (bufferLength == blockSize) {
+        compressBuffer();
+      }
+    }
+  }
+
+  @Override
+  public byte[] digest() {
+    if (messageLength == 0) {
+      return new byte[blockSize];
+    }
+
+    compressPadding();
+
+    byte[] res = construction.finalisationFunction(chainingValue);
+
+    reset();
+
+    return res;
+  }
+
+  /// Finalises into a scratch array of the hash length instead of a new digest
+  @Override
+  public void digest(byte[] output, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, output.length);
+
+    if (messageLength == 0) {
+      Arrays.fill(output, offset, offset + length, (byte) 0);
+    } else {
+      Objects.checkFromIndexSize(0, length, digestScratch.length);
+
+      compressPadding();
+      construction.finalisationFunction(chainingValue, digestScratch);
+
+      System.arraycopy(digestScratch, 0, output, offset, length);
+    }
+
+    reset();
+  }
+
+  @Override
+  public void reset() {
+    chainingValue = construction.getIV();
+    bufferLength = 0;
+    messageLength = 0;
+  }
+
+  @Override
+  public MerkleDamgardHasher copy() {
+    return new MerkleDamgardHasher(this);
+  }
+
+  public byte[] checkpoint() {
+    byte[] fingerprint = construction.getFingerprint();
+    ByteBuffer state = ByteBuffer.allocate(CHECKPOINT_HEADER_SIZE + fingerprint.length
+                                           + chainingValue.length + bufferLength);
+
+    state.put(CHECKPOINT_VERSION)
+            .putInt(blockSize)
+            .putInt(fingerprint.length)
+            .put(fingerprint)
+            .putLong(messageLength)
+            .putInt(chainingValue.length)
+            .put(chainingValue)
+            .put(buffer, 0, bufferLength);
+
+    return state.array();
+  }
+
+  private void compressPadding() {
+    long messageBits = messageLength * 8;
+
+    int tailLength = bufferLength + 1 + LENGTH_BYTES;
+    int paddingLength = Math.ceilDiv(tailLength, blockSize) * blockSize - bufferLength;
+    int lengthPos = paddingLength - LENGTH_BYTES;
+
+    for (int i = 0; i < paddingLength; i++) {
+      byte value = 0;
+
+      if (i == 0) {
+        value = (byte) 0x80;
+      } else if (i >= lengthPos) {
+        value = (byte) (messageBits >>> (56 - (i - lengthPos) * 8));
+      }
+
+      buffer[bufferLength++] = value;
+
+      if (bufferLength == blockSize) {
+        compressBuffer();
+      }
+    }
+  }
+
+  private void compressBuffer() {
+    chainingValue = construction.compressionFunction(buffer, chainingValue);
+    bufferLength = 0;
+  }
+}
@@ -0,0 +1,149 @@
+package org.hypergraph_hash;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+import static org.hypergraph_hash.operations.BitOperations.xorInPlace;
+import static org.hypergraph_hash.utilities.Validation.validateNonNegative;
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
+public class SpongeHasher implements Hasher {
+  private final GaloisHypergraphSponge sponge;
+  private final int rate;
+
+  private byte[] state;
+  private int position;
+  private boolean squeezing;
+
+  SpongeHasher(GaloisHypergraphSponge sponge) {
+    this.sponge = sponge;
+    this.rate = sponge.getRate();
+
+    reset();
+  }
+
+  private SpongeHasher(SpongeHasher other) {
+    sponge = other.sponge;
+    rate = other.rate;
+
+    state = other.state.clone();
+    position = other.position;
+    squeezing = other.squeezing;
+  }
+
+  @Override
+  public void update(byte[] input, int offset, int length) {
+    validateNotNull(input, "Input");
+    Objects.checkFromIndexSize(offset, length, input.length);
+    validateAbsorbing();
+
+    while (length > 0) {
+      int count = Math.min(length, rate - position);
+
+      xorInPlace(state, position, input, offset, count);
+      offset += count;
+      length -= count;
+
+      absorbed(count);
+    }
+  }
+
+  @Override
+  public void update(ByteBuffer input) {
+    validateNotNull(input, "Input");
+    validateAbsorbing();
+
+    while (input.hasRemaining()) {
+      int count = Math.min(input.remaining(), rate - position);
+
+      for (int i = 0; i < count; i++) {
+        state[position + i] ^= input.get();
+      }
+
+      absorbed(count);
+    }
+  }
+
+  public void squeeze(byte[] output, int offset, int length) {
+    validateNotNull(output, "Output");
+    Objects.checkFromIndexSize(offset, length, output.length);
+
+    if (!squeezing) {
+      state[position] ^= (byte) 0x80;
+      state[rate - 1] ^= 0x01;
+
+      sponge.mix(state);
+      position = 0;
+      squeezing = true;
+    }
+
+    while (length > 0) {
+      if (position == rate) {
+        sponge.mix(state);
+        position = 0;
+      }
+
+      int count = Math.min(length, rate - position);
+
+      System.arraycopy(state, position, output, offset, count);
+      position += count;
+      offset += count;
+      length -= count;
+    }
+  }
+
+  public byte[] squeeze(int length) {
+    validateNonNegative(length, "length");
+
+    byte[] res = new byte[length];
+    squeeze(res, 0, length);
+
+    return res;
+  }
+
+  @Override
+  public byte[] digest() {
+    byte[] res = squeeze(sponge.getHashLength());
+
+    reset();
+
+    return res;
+  }
+
+  /// Squeezes straight into the output
+  @Override
+  public void digest(byte[] output, int offset, int length) {
+    Objects.checkFromIndexSize(0, length, sponge.getHashLength());
+
+    squeeze(output, offset, length);
+
+    reset();
+  }
+
+  @Override
+  public void reset() {
+    state = sponge.getIV();
+    position = 0;
+    squeezing = false;
+  }
+
+  @Override
+  public SpongeHasher copy() {
+    return new SpongeHasher(this);
+  }
+
+  private void absorbed(int count) {
+    position += count;
+
+    if (position == rate) {
+      sponge.mix(state);
+      position = 0;
+    }
+  }
+
+  private void validateAbsorbing() {
+    if (squeezing) {
+      throw new IllegalStateException("Cannot absorb input after squeezing started");
+    }
+  }
+}
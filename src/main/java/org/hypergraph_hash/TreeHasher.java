@@ -0,0 +1,157 @@
+package org.hypergraph_hash;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
+public class TreeHasher implements Hasher {
+  private final GaloisHypergraphTreeHash tree;
+  private final int chunkSize;
+
+  private final byte[] buffer;
+  private int bufferLength;
+
+  private final List<List<byte[]>> levels;
+  private long messageLength;
+
+  TreeHasher(GaloisHypergraphTreeHash tree) {
+    this.tree = tree;
+    this.chunkSize = tree.getChunkSize();
+
+    buffer = new byte[chunkSize];
+    levels = new ArrayList<>();
+  }
+
+  private TreeHasher(TreeHasher other) {
+    tree = other.tree;
+    chunkSize = other.chunkSize;
+
+    buffer = other.buffer.clone();
+    bufferLength = other.bufferLength;
+
+    levels = new ArrayList<>();
+    for (List<byte[]> level : other.levels) {
+      levels.add(new ArrayList<>(level));
+    }
+
+    messageLength = other.messageLength;
+  }
+
+  @Override
+  public void update(byte[] input, int offset, int length) {
+    validateNotNull(input, "Input");
+    Objects.checkFromIndexSize(offset, length, input.length);
+
+    update(ByteBuffer.wrap(input, offset, length));
+  }
+
+  @Override
+  public void update(ByteBuffer input) {
+    validateNotNull(input, "Input");
+
+    messageLength += input.remaining();
+
+    if (bufferLength > 0) {
+      int count = Math.min(input.remaining(), chunkSize - bufferLength);
+
+      input.get(buffer, bufferLength, count);
+      bufferLength += count;
+
+      if (bufferLength < chunkSize) {
+        return;
+      }
+
+      addNode(0, tree.leafDigest(buffer, 0, chunkSize));
+      bufferLength = 0;
+    }
+
+    int fullChunks = input.remaining() / chunkSize;
+    if (fullChunks > 0) {
+      for (byte[] leaf : tree.leafDigests(input, fullChunks)) {
+        addNode(0, leaf);
+      }
+    }
+
+    bufferLength = input.remaining();
+    input.get(buffer, 0, bufferLength);
+  }
+
+  @Override
+  public byte[] digest() {
+    if (bufferLength > 0 || messageLength == 0) {
+      addNode(0, tree.leafDigest(buffer, 0, bufferLength));
+    }
+
+    return digestNodes();
+  }
+
+  @Override
+  public void reset() {
+    levels.clear();
+    bufferLength = 0;
+    messageLength = 0;
+  }
+
+  @Override
+  public TreeHasher copy() {
+    return new TreeHasher(this);
+  }
+
+  void addNode(int level, byte[] node) {
+    if (levels.size() == level) {
+      levels.add(new ArrayList<>(tree.getArity()));
+    }
+
+    List<byte[]> nodes = levels.get(level);
+    nodes.add(node);
+
+    if (nodes.size() == tree.getArity()) {
+      byte[] parent = tree.nodeDigest(nodes);
+      nodes.clear();
+
+      addNode(level + 1, parent);
+    }
+  }
+
+  byte[] digestNodes() {
+    byte[] carry = null;
+
+    for (int level = 0; level < levels.size(); level++) {
+      List<byte[]> nodes = levels.get(level);
+
+      if (carry != null) {
+        nodes.add(carry);
+      }
+
+      if (nodes.isEmpty()) {
+        continue;
+      }
+
+      if (nodes.size() == 1 && isTopLevel(level)) {
+        carry = nodes.getFirst();
+        break;
+      }
+
+      carry = tree.nodeDigest(nodes);
+    }
+
+    byte[] res = tree.rootDigest(carry);
+
+    reset();
+
+    return res;
+  }
+
+  private boolean isTopLevel(int level) {
+    for (int i = level + 1; i < levels.size(); i++) {
+      if (!levels.get(i).isEmpty()) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+}
@@ -0,0 +1,194 @@
+package org.hypergraph_hash.cache;
+
+import org.hypergraph_hash.CryptographicHash;
+import org.hypergraph_hash.Hasher;
+import org.hypergraph_hash.utilities.HashFingerprint;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.hypergraph_hash.utilities.Validation.*;
+
+/// Sidecar index of per-chunk digests of one file; refresh re-hashes only the chunks that may have changed
+public class ChunkDigestIndex {
+  private static final int MAGIC = 0x48474349; // HGCI
+  private static final byte VERSION = 1;
+
+  private final CryptographicHash hash;
+  private final String fingerprint;
+
+  private final int chunkSize;
+  private final int digestLength;
+
+  private long fileSize;
+  private byte[][] digests;
+
+  private ChunkDigestIndex(CryptographicHash hash, int chunkSize) {
+    this.hash = hash;
+    this.fingerprint = HashFingerprint.of(hash);
+
+    this.chunkSize = chunkSize;
+    this.digestLength = hash.getHashLength();
+
+    digests = new byte[0][];
+  }
+
+  public static ChunkDigestIndex build(Path file, CryptographicHash hash, int chunkSize) {
+    validateNotNull(hash, "Hash");
+    validatePositive(chunkSize, "chunkSize");
+
+    ChunkDigestIndex index = new ChunkDigestIndex(hash, chunkSize);
+    index.refresh(file);
+
+    return index;
+  }
+
+  public static ChunkDigestIndex load(Path indexFile, CryptographicHash hash) {
+    validateNotNull(indexFile, "Index file");
+    validateNotNull(hash, "Hash");
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+      if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+        throw new IllegalArgumentException("Unsupported chunk index format: " + indexFile);
+      }
+
+      if (!in.readUTF().equals(HashFingerprint.of(hash))) {
+        throw new IllegalArgumentException("Chunk index was built with a different hash: " + indexFile);
+      }
+
+      int chunkSize = in.readInt();
+      long fileSize = in.readLong();
+      int count = in.readInt();
+
+      // A corrupted header must not size the digest table or reach refresh with a zero chunk size
+      if (chunkSize <= 0 || fileSize < 0 || count != Math.ceilDiv(fileSize, chunkSize)) {
+        throw new IllegalArgumentException("Unsupported chunk index format: " + indexFile);
+      }
+
+      ChunkDigestIndex index = new ChunkDigestIndex(hash, chunkSize);
+      index.fileSize = fileSize;
+      index.digests = new byte[count][];
+
+      for (int i = 0; i < index.digests.length; i++) {
+        index.digests[i] = new byte[index.digestLength];
+        in.readFully(index.digests[i]);
+      }
+
+      return index;
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read chunk index: " + indexFile, e);
+    }
+  }
+
+  public void save(Path indexFile) {
+    validateNotNull(indexFile, "Index file");
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(indexFile)))) {
+      out.writeInt(MAGIC);
+      out.writeByte(VERSION);
+      out.writeUTF(fingerprint);
+      out.writeInt(chunkSize);
+      out.writeLong(fileSize);
+      out.writeInt(digests.length);
+
+      for (byte[] digest : digests) {
+        out.write(digest);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write chunk index: " + indexFile, e);
+    }
+  }
+
+  /// Re-hashes every chunk and returns the indices of chunks whose digest changed
+  public int[] refresh(Path file) {
+    return refresh(file, 0, Long.MAX_VALUE);
+  }
+
+  /// Re-hashes only chunks overlapping the dirty range, plus chunks affected by a change of the file size
+  public int[] refresh(Path file, long offset, long length) {
+    validateNotNull(file, "File");
+    validateNonNegative(offset, "offset");
+    validateNonNegative(length, "length");
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long newSize = channel.size();
+      int oldCount = digests.length;
+      int newCount = Math.toIntExact(Math.ceilDiv(newSize, chunkSize));
+
+      long end = Math.min(newSize, length > Long.MAX_VALUE - offset ? Long.MAX_VALUE : offset + length);
+      int from = (int) Math.min(offset / chunkSize, newCount);
+      int to = (int) Math.min(Math.ceilDiv(end, chunkSize), newCount);
+
+      boolean[] dirty = new boolean[newCount];
+      if (from < to) {
+        Arrays.fill(dirty, from, to, true);
+      }
+
+      if (newSize != fileSize) {
+        // The old last chunk changes its length and chunks past the old end are new
+        Arrays.fill(dirty, Math.max(Math.min(oldCount, newCount) - 1, 0), newCount, true);
+      }
+
+      byte[][] oldDigests = digests;
+      byte[][] newDigests = Arrays.copyOf(oldDigests, newCount);
+
+      int[] dirtyChunks = IntStream.range(0, newCount).filter(i -> dirty[i]).toArray();
+
+      IntStream.range(0, dirtyChunks.length).parallel().forEach(i ->
+              newDigests[dirtyChunks[i]] = chunkDigest(channel, dirtyChunks[i], newSize));
+
+      digests = newDigests;
+      fileSize = newSize;
+
+      return Arrays.stream(dirtyChunks)
+              .filter(i -> i >= oldCount || !Arrays.equals(oldDigests[i], newDigests[i]))
+              .toArray();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read file: " + file, e);
+    }
+  }
+
+  /// Digest of the file size, the chunk size and all chunk digests in order
+  public byte[] fileDigest() {
+    Hasher hasher = hash.newHasher();
+    hasher.update(ByteBuffer.allocate(Long.BYTES + Integer.BYTES).putLong(fileSize).putInt(chunkSize).flip());
+
+    for (byte[] digest : digests) {
+      hasher.update(digest);
+    }
+
+    return hasher.digest();
+  }
+
+  public byte[] getChunkDigest(int index) {
+    return digests[index].clone();
+  }
+
+  public final int getChunkCount() {
+    return digests.length;
+  }
+
+  public final int getChunkSize() {
+    return chunkSize;
+  }
+
+  public final long getFileSize() {
+    return fileSize;
+  }
+
+  private byte[] chunkDigest(FileChannel channel, int index, long size) {
+    long position = (long) index * chunkSize;
+
+    try {
+      return hash.hashBuffer(channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, size - position)));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to map file chunk " + index, e);
+    }
+  }
+}
@@ -0,0 +1,269 @@
+package org.hypergraph_hash.cache;
+
+import org.hypergraph_hash.CryptographicHash;
+import org.hypergraph_hash.utilities.HashFingerprint;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+import static org.hypergraph_hash.utilities.Validation.validatePositive;
+
+/// Log-structured digest cache: records are appended on misses, hits only reorder the entries in memory,
+/// and the log is rewritten in LRU order once it holds twice as many records as live entries and on close
+public class FileDigestCache implements Closeable {
+  private static final int MAGIC = 0x48474443; // HGDC
+  private static final byte VERSION = 1;
+
+  private final Path cacheFile;
+  private final CryptographicHash hash;
+  private final String fingerprint;
+  private final int maxEntries;
+
+  private final LinkedHashMap<Key, byte[]> entries;
+  private DataOutputStream log;
+  private int logRecords;
+  private boolean reordered;
+
+  public FileDigestCache(Path cacheFile, CryptographicHash hash, int maxEntries) {
+    validateNotNull(cacheFile, "Cache file");
+    validateNotNull(hash, "Hash");
+    validatePositive(maxEntries, "maxEntries");
+
+    this.cacheFile = cacheFile;
+    this.hash = hash;
+    this.maxEntries = maxEntries;
+
+    fingerprint = HashFingerprint.of(hash);
+
+    entries = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, byte[]> eldest) {
+        return size() > FileDigestCache.this.maxEntries;
+      }
+    };
+
+    try {
+      if (!load()) {
+        replaceLog(writeCompacted());
+      }
+
+      log = openLog();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to open digest cache: " + cacheFile, e);
+    }
+  }
+
+  public byte[] digest(Path file) {
+    validateNotNull(file, "File");
+
+    Key key;
+    try {
+      key = keyOf(file);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read file: " + file, e);
+    }
+
+    synchronized (this) {
+      byte[] cached = entries.get(key);
+
+      if (cached != null) {
+        reordered = true;
+
+        return cached.clone();
+      }
+    }
+
+    byte[] digest = hash.hashFile(file);
+
+    // A file changed while it was hashed may give a digest of neither version, so it isn't cached
+    try {
+      if (!key.equals(keyOf(file))) {
+        return digest;
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read file: " + file, e);
+    }
+
+    synchronized (this) {
+      entries.put(key, digest.clone());
+      append(key, digest);
+    }
+
+    return digest;
+  }
+
+  public synchronized int size() {
+    return entries.size();
+  }
+
+  public synchronized void flush() {
+    try {
+      log.flush();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write digest cache: " + cacheFile, e);
+    }
+  }
+
+  @Override
+  public synchronized void close() {
+    try {
+      Path compacted = reordered ? writeCompacted() : null;
+      log.close();
+
+      if (compacted != null) {
+        replaceLog(compacted);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write digest cache: " + cacheFile, e);
+    }
+  }
+
+  private Key keyOf(Path file) throws IOException {
+    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+    Object fileKey = attributes.fileKey();
+
+    return new Key(
+            file.toAbsolutePath().normalize().toString(),
+            attributes.size(),
+            attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS),
+            fileKey == null ? "" : fileKey.toString(),
+            fingerprint
+    );
+  }
+
+  private void append(Key key, byte[] digest) {
+    try {
+      writeRecord(log, key, digest);
+      logRecords++;
+
+      if (logRecords > 2 * maxEntries) {
+        // Written while the log is still open, so a failed compaction leaves the log usable
+        Path compacted = writeCompacted();
+        log.close();
+
+        try {
+          replaceLog(compacted);
+        } finally {
+          log = openLog();
+        }
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write digest cache: " + cacheFile, e);
+    }
+  }
+
+  // Returns false if the log has to be rewritten, e.g. after a torn write
+  private boolean load() throws IOException {
+    if (!Files.exists(cacheFile) || Files.size(cacheFile) == 0) {
+      return false;
+    }
+
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(cacheFile)))) {
+      // The log is replaced by the compacted copy, so a file of another format is refused rather than overwritten
+      if (Files.size(cacheFile) < Integer.BYTES || in.readInt() != MAGIC) {
+        throw new IllegalArgumentException("Not a digest cache file: " + cacheFile);
+      }
+
+      try {
+        if (in.readByte() != VERSION) {
+          return false;
+        }
+
+        while (true) {
+          int length;
+          try {
+            length = in.readInt();
+          } catch (EOFException e) {
+            return true;
+          }
+
+          if (length <= 0) {
+            return false;
+          }
+
+          byte[] record = new byte[length];
+          in.readFully(record);
+
+          readRecord(ByteBuffer.wrap(record));
+          logRecords++;
+        }
+      } catch (EOFException | RuntimeException e) {
+        return false;
+      }
+    }
+  }
+
+  private Path writeCompacted() throws IOException {
+    Path tmp = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+
+    try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+      out.writeInt(MAGIC);
+      out.writeByte(VERSION);
+
+      for (Map.Entry<Key, byte[]> entry : entries.entrySet()) {
+        writeRecord(out, entry.getKey(), entry.getValue());
+      }
+    }
+
+    return tmp;
+  }
+
+  private void replaceLog(Path compacted) throws IOException {
+    Files.move(compacted, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    logRecords = entries.size();
+    reordered = false;
+  }
+
+  private DataOutputStream openLog() throws IOException {
+    return new DataOutputStream(new BufferedOutputStream(
+            Files.newOutputStream(cacheFile, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+  }
+
+  private void readRecord(ByteBuffer record) {
+    Key key = new Key(readString(record), record.getLong(), record.getLong(), readString(record), readString(record));
+
+    byte[] digest = new byte[record.getInt()];
+    record.get(digest);
+
+    entries.put(key, digest);
+  }
+
+  private static void writeRecord(DataOutputStream out, Key key, byte[] digest) throws IOException {
+    byte[] path = key.path().getBytes(StandardCharsets.UTF_8);
+    byte[] fileKey = key.fileKey().getBytes(StandardCharsets.UTF_8);
+    byte[] fingerprint = key.fingerprint().getBytes(StandardCharsets.UTF_8);
+
+    out.writeInt(4 * Integer.BYTES + 2 * Long.BYTES + path.length + fileKey.length + fingerprint.length + digest.length);
+
+    writeBytes(out, path);
+    out.writeLong(key.size());
+    out.writeLong(key.modified());
+    writeBytes(out, fileKey);
+    writeBytes(out, fingerprint);
+    writeBytes(out, digest);
+  }
+
+  private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer record) {
+    byte[] bytes = new byte[record.getInt()];
+    record.get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private record Key(String path, long size, long modified, String fileKey, String fingerprint) {}
+}
@@ -0,0 +1,254 @@
+package org.hypergraph_hash.cli;
+
+import org.hypergraph_hash.CryptographicHash;
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.GaloisHypergraphTreeHash;
+import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
+import org.hypergraph_hash.hypergraph.HyperEdge;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Stream;
+
+/// sha256sum-like tool:
+///   sum    --key <key file> [--length <bytes>] [--tree] [--threads <n>] [--output <manifest>] <path>...
+///   verify --key <key file> [--length <bytes>] [--tree] [--threads <n>] <manifest>
+/// A key file lists one hyperedge per line as vertex numbers; manifest lines are "<hex digest>  <path>".
+public class HypergraphSum {
+  private static final String MANIFEST_SEPARATOR = "  ";
+  private static final int DEFAULT_HASH_LENGTH = 32;
+
+  private HypergraphSum() {}
+
+  public static void main(String[] args) {
+    System.exit(run(args, System.out, System.err));
+  }
+
+  public static int run(String[] args, PrintStream out, PrintStream err) {
+    try {
+      Options options = Options.parse(args);
+      CryptographicHash hash = options.createHash();
+
+      return switch (options.command) {
+        case "sum" -> sum(hash, options, out, err);
+        case "verify" -> verify(hash, options, out, err);
+        default -> throw new IllegalArgumentException("Unknown command: " + options.command);
+      };
+    } catch (IllegalArgumentException | IllegalStateException e) {
+      err.println("error: " + e.getMessage());
+      return 2;
+    }
+  }
+
+  private static int sum(CryptographicHash hash, Options options, PrintStream out, PrintStream err) {
+    List<Path> files = new ArrayList<>();
+    for (String path : options.paths) {
+      files.addAll(collectFiles(Path.of(path)));
+    }
+
+    PrintStream manifest = out;
+    try {
+      if (options.output != null) {
+        manifest = new PrintStream(Files.newOutputStream(Path.of(options.output)), false);
+      }
+
+      PrintStream target = manifest;
+      boolean ok = hashFiles(hash, files, options.threads, err, (index, file, digest) ->
+              target.println(HexFormat.of().formatHex(digest) + MANIFEST_SEPARATOR + file));
+
+      return ok ? 0 : 1;
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write manifest: " + options.output, e);
+    } finally {
+      if (manifest != out) {
+        manifest.close();
+      } else {
+        out.flush();
+      }
+    }
+  }
+
+  private static int verify(CryptographicHash hash, Options options, PrintStream out, PrintStream err) {
+    if (options.paths.size() != 1) {
+      throw new IllegalArgumentException("verify expects exactly one manifest");
+    }
+
+    // Every line is checked on its own, so a path listed twice is verified twice like sha256sum does
+    List<Path> files = new ArrayList<>();
+    List<String> expected = new ArrayList<>();
+    try (Stream<String> lines = Files.lines(Path.of(options.paths.getFirst()))) {
+      lines.filter(line -> !line.isBlank()).forEach(line -> {
+        int separator = line.indexOf(MANIFEST_SEPARATOR);
+
+        if (separator < 0) {
+          throw new IllegalArgumentException("Malformed manifest line: " + line);
+        }
+
+        files.add(Path.of(line.substring(separator + MANIFEST_SEPARATOR.length())));
+        expected.add(line.substring(0, separator));
+      });
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read manifest: " + options.paths.getFirst(), e);
+    }
+
+    int[] mismatches = new int[1];
+    boolean ok = hashFiles(hash, files, options.threads, err, (index, file, digest) -> {
+      boolean matches = HexFormat.of().formatHex(digest).equalsIgnoreCase(expected.get(index));
+      out.println(file + ": " + (matches ? "OK" : "FAILED"));
+
+      if (!matches) {
+        mismatches[0]++;
+      }
+    });
+
+    if (mismatches[0] > 0) {
+      err.println("WARNING: " + mismatches[0] + " computed checksums did NOT match");
+    }
+
+    return ok && mismatches[0] == 0 ? 0 : 1;
+  }
+
+  // Hashes on a bounded pool with at most 4 tasks per thread in flight and reports results in input order
+  private static boolean hashFiles(CryptographicHash hash, List<Path> files, int threads, PrintStream err,
+                                   DigestConsumer consumer) {
+    ExecutorService pool = Executors.newFixedThreadPool(threads);
+    Deque<Future<byte[]>> inFlight = new ArrayDeque<>();
+
+    long[] totalBytes = new long[1];
+    long start = System.nanoTime();
+    boolean ok = true;
+
+    try {
+      int submitted = 0;
+
+      for (int index = 0; index < files.size(); index++) {
+        Path file = files.get(index);
+
+        while (submitted < files.size() && inFlight.size() < 4 * threads) {
+          Path next = files.get(submitted++);
+          // An empty file digests to a block of zeros, trimmed to the hash length like every other digest
+          inFlight.add(pool.submit(() -> Arrays.copyOf(hash.hashFile(next), hash.getHashLength())));
+        }
+
+        try {
+          byte[] digest = inFlight.poll().get();
+
+          totalBytes[0] += Files.size(file);
+          consumer.accept(index, file, digest);
+        } catch (ExecutionException | IOException e) {
+          Throwable cause = e instanceof ExecutionException ? e.getCause() : e;
+
+          err.println(file + ": " + cause.getMessage());
+          ok = false;
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while hashing files", e);
+    } finally {
+      pool.shutdownNow();
+    }
+
+    double seconds = (System.nanoTime() - start) / 1e9;
+    err.printf(Locale.ROOT, "%d files, %d bytes in %.3f s (%.1f MB/s)%n",
+            files.size(), totalBytes[0], seconds, totalBytes[0] / 1e6 / Math.max(seconds, 1e-9));
+
+    return ok;
+  }
+
+  private static List<Path> collectFiles(Path root) {
+    try (Stream<Path> walk = Files.walk(root)) {
+      return walk.filter(Files::isRegularFile).sorted().toList();
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to walk: " + root, e);
+    }
+  }
+
+  static HomogenousHypergraph readKey(Path keyFile) {
+    List<HyperEdge> edges = new ArrayList<>();
+
+    try (Stream<String> lines = Files.lines(keyFile)) {
+      lines.map(String::strip)
+              .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+              .forEach(line -> edges.add(HyperEdge.of(Arrays.stream(line.split("[\\s,]+"))
+                      .mapToInt(Integer::parseInt)
+                      .toArray())));
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read key file: " + keyFile, e);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("Malformed key file: " + keyFile, e);
+    }
+
+    return HomogenousHypergraph.ofEdges(edges);
+  }
+
+  @FunctionalInterface
+  private interface DigestConsumer {
+    void accept(int index, Path file, byte[] digest);
+  }
+
+  private static final class Options {
+    private String command;
+    private String key;
+    private String output;
+    private int hashLength = DEFAULT_HASH_LENGTH;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean tree;
+    private final List<String> paths = new ArrayList<>();
+
+    static Options parse(String[] args) {
+      Options options = new Options();
+      Iterator<String> it = Arrays.asList(args).iterator();
+
+      if (!it.hasNext()) {
+        throw new IllegalArgumentException("usage: (sum|verify) --key <key file> [options] <path>...");
+      }
+      options.command = it.next();
+
+      while (it.hasNext()) {
+        String arg = it.next();
+
+        switch (arg) {
+          case "--key" -> options.key = value(it, arg);
+          case "--output", "-o" -> options.output = value(it, arg);
+          case "--length" -> options.hashLength = Integer.parseInt(value(it, arg));
+          case "--threads" -> options.threads = Integer.parseInt(value(it, arg));
+          case "--tree" -> options.tree = true;
+          default -> options.paths.add(arg);
+        }
+      }
+
+      if (options.key == null) {
+        throw new IllegalArgumentException("--key is required");
+      }
+      if (options.paths.isEmpty()) {
+        throw new IllegalArgumentException("No input paths");
+      }
+      if (options.threads <= 0) {
+        throw new IllegalArgumentException("--threads must be positive");
+      }
+
+      return options;
+    }
+
+    CryptographicHash createHash() {
+      HomogenousHypergraph graph = readKey(Path.of(key));
+
+      return tree
+              ? new GaloisHypergraphTreeHash(graph, hashLength)
+              : new GaloisHypergraphHash(graph, hashLength);
+    }
+
+    private static String value(Iterator<String> it, String name) {
+      if (!it.hasNext()) {
+        throw new IllegalArgumentException(name + " requires a value");
+      }
+
+      return it.next();
+    }
+  }
+}
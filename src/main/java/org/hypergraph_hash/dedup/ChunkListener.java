@@ -0,0 +1,9 @@
+package org.hypergraph_hash.dedup;
+
+import java.nio.ByteBuffer;
+
+@FunctionalInterface
+public interface ChunkListener {
+  /// The chunk buffer is only valid during the call
+  void onChunk(long position, ByteBuffer chunk, byte[] fingerprint, boolean duplicate);
+}
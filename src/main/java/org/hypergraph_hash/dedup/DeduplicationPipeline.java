@@ -0,0 +1,115 @@
+package org.hypergraph_hash.dedup;
+
+import org.hypergraph_hash.CryptographicHash;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.IntStream;
+
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
+/// Streams a channel through a window of WINDOW_CHUNKS maximal chunks: chunks cut from the window
+/// are fingerprinted in parallel, then looked up in the index and reported in stream order
+public class DeduplicationPipeline implements AutoCloseable {
+  private static final int WINDOW_CHUNKS = 64;
+
+  private final CryptographicHash hash;
+  private final GearChunker chunker;
+  private final FingerprintIndex index;
+
+  private final DeduplicationStats stats;
+
+  public DeduplicationPipeline(CryptographicHash hash, GearChunker chunker) {
+    validateNotNull(hash, "Hash");
+    validateNotNull(chunker, "Chunker");
+
+    this.hash = hash;
+    this.chunker = chunker;
+
+    index = new FingerprintIndex(hash.getHashLength());
+    stats = new DeduplicationStats();
+  }
+
+  /// Returns the stats of this call; the index is kept, so chunks seen in earlier calls count as duplicates
+  public DeduplicationStats process(Path file, ChunkListener listener) {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return process(channel, listener);
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read file: " + file, e);
+    }
+  }
+
+  /// Returns the stats of this call; the index is kept, so chunks seen in earlier calls count as duplicates
+  public DeduplicationStats process(FileChannel channel, ChunkListener listener) {
+    validateNotNull(channel, "Channel");
+    validateNotNull(listener, "Listener");
+
+    DeduplicationStats callStats = new DeduplicationStats();
+
+    byte[] window = new byte[WINDOW_CHUNKS * chunker.getMaxSize()];
+    int[] offsets = new int[window.length / chunker.getMinSize() + 1];
+    int[] lengths = new int[offsets.length];
+
+    ByteBuffer buffer = ByteBuffer.wrap(window);
+    long position = 0;
+    boolean endOfStream = false;
+
+    try {
+      while (!endOfStream || buffer.position() > 0) {
+        while (!endOfStream && buffer.hasRemaining()) {
+          endOfStream = channel.read(buffer) < 0;
+        }
+
+        int available = buffer.position();
+        int count = 0;
+        int from = 0;
+
+        while (from < available && (endOfStream || available - from >= chunker.getMaxSize())) {
+          offsets[count] = from;
+          lengths[count] = chunker.nextChunkLength(window, from, available);
+          from += lengths[count++];
+        }
+
+        byte[][] fingerprints = fingerprintChunks(window, offsets, lengths, count);
+
+        for (int i = 0; i < count; i++) {
+          boolean duplicate = !index.add(fingerprints[i]);
+          stats.addChunk(lengths[i], duplicate);
+          callStats.addChunk(lengths[i], duplicate);
+
+          listener.onChunk(position, ByteBuffer.wrap(window, offsets[i], lengths[i]).slice(), fingerprints[i], duplicate);
+          position += lengths[i];
+        }
+
+        buffer.limit(available).position(from);
+        buffer.compact();
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read file channel", e);
+    }
+
+    return callStats;
+  }
+
+  /// Totals over every process call of this pipeline
+  public DeduplicationStats getStats() {
+    return stats;
+  }
+
+  @Override
+  public void close() {
+    index.close();
+  }
+
+  private byte[][] fingerprintChunks(byte[] window, int[] offsets, int[] lengths, int count) {
+    byte[][] fingerprints = new byte[count][];
+
+    IntStream.range(0, count).parallel().forEach(i ->
+            fingerprints[i] = hash.hashBuffer(ByteBuffer.wrap(window, offsets[i], lengths[i])));
+
+    return fingerprints;
+  }
+}
@@ -0,0 +1,39 @@
+package org.hypergraph_hash.dedup;
+
+public class DeduplicationStats {
+  private long chunkCount;
+  private long duplicateChunkCount;
+
+  private long totalBytes;
+  private long duplicateBytes;
+
+  void addChunk(int length, boolean duplicate) {
+    chunkCount++;
+    totalBytes += length;
+
+    if (duplicate) {
+      duplicateChunkCount++;
+      duplicateBytes += length;
+    }
+  }
+
+  public long getChunkCount() {
+    return chunkCount;
+  }
+
+  public long getDuplicateChunkCount() {
+    return duplicateChunkCount;
+  }
+
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public long getDuplicateBytes() {
+    return duplicateBytes;
+  }
+
+  public long getUniqueBytes() {
+    return totalBytes - duplicateBytes;
+  }
+}
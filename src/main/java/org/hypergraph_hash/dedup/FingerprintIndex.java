@@ -0,0 +1,137 @@
+package org.hypergraph_hash.dedup;
+
+import java.nio.ByteBuffer;
+
+import static org.hypergraph_hash.utilities.Validation.validateEquals;
+import static org.hypergraph_hash.utilities.Validation.validatePositive;
+
+/// Off-heap open-addressing set of fixed-length fingerprints in a direct buffer; slots are [occupied byte][fingerprint]
+public class FingerprintIndex implements AutoCloseable {
+  private static final int INITIAL_CAPACITY = 1 << 10;
+
+  private final int fingerprintLength;
+  private final int slotSize;
+
+  private ByteBuffer table;
+  private int capacity;
+  private long size;
+
+  public FingerprintIndex(int fingerprintLength) {
+    validatePositive(fingerprintLength, "fingerprintLength");
+
+    this.fingerprintLength = fingerprintLength;
+    this.slotSize = 1 + fingerprintLength;
+
+    allocate(INITIAL_CAPACITY);
+  }
+
+  /// Returns true if the fingerprint was not in the index yet
+  public boolean add(byte[] fingerprint) {
+    validateOpen();
+    validateEquals(fingerprint.length, fingerprintLength, "fingerprint.length", "fingerprintLength");
+
+    if (2 * (size + 1) > capacity) {
+      grow();
+    }
+
+    int slot = findSlot(table, capacity, fingerprint);
+
+    if (table.get(slot * slotSize) != 0) {
+      return false;
+    }
+
+    writeSlot(table, slot, fingerprint);
+    size++;
+
+    return true;
+  }
+
+  public boolean contains(byte[] fingerprint) {
+    validateOpen();
+    validateEquals(fingerprint.length, fingerprintLength, "fingerprint.length", "fingerprintLength");
+
+    return table.get(findSlot(table, capacity, fingerprint) * slotSize) != 0;
+  }
+
+  public long size() {
+    return size;
+  }
+
+  /// Drops the table, its native memory is freed with the buffer
+  @Override
+  public void close() {
+    table = null;
+  }
+
+  private void validateOpen() {
+    if (table == null) {
+      throw new IllegalStateException("Fingerprint index is closed");
+    }
+  }
+
+  // Linear probing from the slot picked by the first fingerprint bytes; digests are already uniform
+  private int findSlot(ByteBuffer buffer, int slots, byte[] fingerprint) {
+    int slot = (int) (startSlot(fingerprint) & (slots - 1));
+
+    while (buffer.get(slot * slotSize) != 0
+           && !matches(buffer, slot, fingerprint)) {
+      slot = (slot + 1) & (slots - 1);
+    }
+
+    return slot;
+  }
+
+  private boolean matches(ByteBuffer buffer, int slot, byte[] fingerprint) {
+    int offset = slot * slotSize + 1;
+
+    for (int i = 0; i < fingerprintLength; i++) {
+      if (buffer.get(offset + i) != fingerprint[i]) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private void writeSlot(ByteBuffer buffer, int slot, byte[] fingerprint) {
+    int offset = slot * slotSize;
+
+    buffer.put(offset, (byte) 1);
+    buffer.put(offset + 1, fingerprint);
+  }
+
+  private void grow() {
+    ByteBuffer oldTable = table;
+    int oldCapacity = capacity;
+
+    if ((long) 2 * oldCapacity * slotSize > Integer.MAX_VALUE) {
+      throw new IllegalStateException("Fingerprint index is full: " + size + " fingerprints");
+    }
+    allocate(2 * oldCapacity);
+
+    byte[] fingerprint = new byte[fingerprintLength];
+    for (int slot = 0; slot < oldCapacity; slot++) {
+      int offset = slot * slotSize;
+
+      if (oldTable.get(offset) != 0) {
+        oldTable.get(offset + 1, fingerprint);
+        writeSlot(table, findSlot(table, capacity, fingerprint), fingerprint);
+      }
+    }
+  }
+
+  private void allocate(int slots) {
+    table = ByteBuffer.allocateDirect(slots * slotSize);
+    capacity = slots;
+  }
+
+  private static long startSlot(byte[] fingerprint) {
+    long res = 0;
+
+    for (int i = 0; i < Math.min(Long.BYTES, fingerprint.length); i++) {
+      res = (res << 8) | (fingerprint[i] & 0xFF);
+    }
+
+    return res;
+  }
+}
@@ -0,0 +1,101 @@
+package org.hypergraph_hash.dedup;
+
+import static org.hypergraph_hash.utilities.Validation.validatePositive;
+
+/// FastCDC-style content-defined chunking with a Gear rolling hash and normalized chunk sizes
+public class GearChunker {
+  public static final int DEFAULT_MIN_SIZE = 2 << 10;
+  public static final int DEFAULT_AVG_SIZE = 8 << 10;
+  public static final int DEFAULT_MAX_SIZE = 64 << 10;
+
+  private static final long DEFAULT_SEED = 0x5C52B75D5771A87CL;
+
+  private final int minSize;
+  private final int avgSize;
+  private final int maxSize;
+
+  // Masks test the high bits, which depend on the last 64 bytes of the Gear hash window
+  private final long strictMask;
+  private final long looseMask;
+
+  private final long[] gear;
+
+  public GearChunker() {
+    this(DEFAULT_MIN_SIZE, DEFAULT_AVG_SIZE, DEFAULT_MAX_SIZE, DEFAULT_SEED);
+  }
+
+  public GearChunker(int minSize, int avgSize, int maxSize, long seed) {
+    validatePositive(minSize, "minSize");
+
+    if (minSize > avgSize || avgSize > maxSize) {
+      throw new IllegalArgumentException("Chunk sizes must satisfy minSize <= avgSize <= maxSize");
+    }
+
+    this.minSize = minSize;
+    this.avgSize = avgSize;
+    this.maxSize = maxSize;
+
+    int bits = 31 - Integer.numberOfLeadingZeros(avgSize);
+    strictMask = -1L << (Long.SIZE - bits - 1);
+    looseMask = -1L << (Long.SIZE - Math.max(bits - 1, 1));
+
+    gear = new long[256];
+    long state = seed;
+    for (int i = 0; i < gear.length; i++) {
+      state += 0x9E3779B97F4A7C15L;
+      gear[i] = mix64(state);
+    }
+  }
+
+  /// Length of the chunk starting at data[from]; data[from .. to) must hold at least maxSize bytes unless it is the stream tail
+  public int nextChunkLength(byte[] data, int from, int to) {
+    int length = to - from;
+
+    if (length <= minSize) {
+      return length;
+    }
+
+    length = Math.min(length, maxSize);
+    int normal = Math.min(length, avgSize);
+
+    long hash = 0;
+    int i = minSize;
+
+    for (; i < normal; i++) {
+      hash = (hash << 1) + gear[data[from + i] & 0xFF];
+
+      if ((hash & strictMask) == 0) {
+        return i + 1;
+      }
+    }
+
+    for (; i < length; i++) {
+      hash = (hash << 1) + gear[data[from + i] & 0xFF];
+
+      if ((hash & looseMask) == 0) {
+        return i + 1;
+      }
+    }
+
+    return length;
+  }
+
+  public final int getMinSize() {
+    return minSize;
+  }
+
+  public final int getAvgSize() {
+    return avgSize;
+  }
+
+  public final int getMaxSize() {
+    return maxSize;
+  }
+
+  private static long mix64(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+    return z ^ (z >>> 31);
+  }
+}
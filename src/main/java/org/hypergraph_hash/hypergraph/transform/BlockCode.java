@@ -0,0 +1,15 @@
+package org.hypergraph_hash.hypergraph.transform;
+
+/// Straight-line code for one key, emitted step by step by HypergraphTransform.emitEncryption
+public interface BlockCode {
+  /// products[a << 8 | b] is the field product of a and b
+  void useGaloisTables(int[] sBox, byte[] products);
+
+  /// One vertex of GaloisHypergraphTransform; positions are byte indices within the block
+  void galoisStep(int center, int sBoxZeroReplacement, int zeroReplacement,
+                  int[] neighbours, int[] neighbourZeroReplacements, int from, int to);
+
+  /// One vertex of HypergraphEncryption: XOR of the small blocks at positions (plus the vertex block
+  /// if includeVertex) is XORed into the vertex block and every adjacent block
+  void xorStep(int vertexPosition, int[] adjacentPositions, int smallBlockSize, boolean includeVertex);
+}
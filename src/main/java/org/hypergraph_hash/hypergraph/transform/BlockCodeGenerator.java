@@ -0,0 +1,447 @@
+package org.hypergraph_hash.hypergraph.transform;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/// Emits a hidden class with straight-line code for one key: every text index is a constant and there are
+/// no branches, so the generated methods need no stack map frames. Code is split into methods below
+/// the JIT huge-method limit.
+final class BlockCodeGenerator implements BlockCode {
+  private static final String CLASS_NAME = "org/hypergraph_hash/hypergraph/transform/GeneratedBlockOperation";
+  private static final String PART_DESCRIPTOR = "([BI[I[B)V";
+
+  private static final int PART_CODE_LIMIT = 7000; // HotSpot does not compile methods over 8000 bytes
+  private static final int MAX_CODE_SIZE = 1 << 20;
+
+  // Part methods are static (text, offset, sBox, products) with two more int locals
+  private static final int VAL = 4;
+  private static final int SMALL_BLOCK = 5;
+
+  private final List<byte[]> parts = new ArrayList<>();
+  private final ConstantPool constantPool = new ConstantPool();
+
+  // Code of the current part, moved to parts once it overflows
+  private byte[] code = new byte[2 * PART_CODE_LIMIT];
+  private int codeSize;
+  private int partsSize;
+
+  private int stepStart;
+  private boolean tooLarge;
+
+  private int[] sBox;
+  private byte[] products;
+
+  BlockCodeGenerator() {}
+
+  @Override
+  public void useGaloisTables(int[] sBox, byte[] products) {
+    this.sBox = sBox;
+    this.products = products;
+  }
+
+  @Override
+  public void galoisStep(int center, int sBoxZeroReplacement, int zeroReplacement,
+                         int[] neighbours, int[] neighbourZeroReplacements, int from, int to) {
+    if (tooLarge) {
+      return;
+    }
+
+    // val = S[text[center]], then multiplied by S[text[neighbour]] of every neighbour
+    sBoxOf(center);
+    store(VAL);
+    replaceZero(VAL, sBoxZeroReplacement);
+
+    for (int edge = from; edge < to; edge++) {
+      sBoxOf(neighbours[edge]);
+      store(SMALL_BLOCK);
+      replaceZero(SMALL_BLOCK, neighbourZeroReplacements[edge]);
+
+      product();
+      pushInt(0xFF);
+      emit(0x7E); // iand
+      store(VAL);
+    }
+
+    multiplyText(center, zeroReplacement);
+    for (int edge = from; edge < to; edge++) {
+      multiplyText(neighbours[edge], neighbourZeroReplacements[edge]);
+    }
+
+    endStep();
+  }
+
+  @Override
+  public void xorStep(int vertexPosition, int[] adjacentPositions, int smallBlockSize, boolean includeVertex) {
+    if (tooLarge || adjacentPositions.length == 0 && !includeVertex) {
+      return;
+    }
+
+    for (int j = 0; j < smallBlockSize && !tooLarge; j++) {
+      boolean first = true;
+
+      for (int position : adjacentPositions) {
+        loadText(position + j);
+        if (!first) {
+          emit(0x82); // ixor
+        }
+        first = false;
+      }
+      if (includeVertex) {
+        loadText(vertexPosition + j);
+        if (!first) {
+          emit(0x82);
+        }
+      }
+      store(VAL);
+
+      xorText(vertexPosition + j);
+      for (int position : adjacentPositions) {
+        xorText(position + j);
+      }
+
+      // Columns touch disjoint bytes, so each one can start a new part
+      endStep();
+    }
+  }
+
+  /// Defines the hidden class, or returns null if the code does not fit the size limits
+  BlockOperation define() {
+    if (codeSize > 0) {
+      parts.add(Arrays.copyOf(code, codeSize));
+    }
+
+    if (tooLarge) {
+      return null;
+    }
+
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(writeClass(), true);
+
+      return (BlockOperation) lookup.findConstructor(lookup.lookupClass(),
+              MethodType.methodType(void.class, int[].class, byte[].class)).invoke(sBox, products);
+    } catch (Throwable e) {
+      throw new IllegalStateException("Failed to define generated transform", e);
+    }
+  }
+
+  // region code emission
+
+  private void sBoxOf(int position) {
+    emit(0x2C); // aload_2
+    loadText(position);
+    pushInt(0xFF);
+    emit(0x7E); // iand
+    emit(0x2E); // iaload
+  }
+
+  // local = local + (replacement & -((local - 1) >>> 31)), i.e. replacement if local == 0
+  private void replaceZero(int local, int replacement) {
+    load(local);
+    pushInt(replacement);
+    load(local);
+    emit(0x04); // iconst_1
+    emit(0x64); // isub
+    pushInt(31);
+    emit(0x7C); // iushr
+    emit(0x74); // ineg
+    emit(0x7E); // iand
+    emit(0x60); // iadd
+    store(local);
+  }
+
+  // products[val << 8 | smallBlock]
+  private void product() {
+    emit(0x2D); // aload_3
+    load(VAL);
+    pushInt(8);
+    emit(0x78); // ishl
+    load(SMALL_BLOCK);
+    emit(0x80); // ior
+    emit(0x33); // baload
+  }
+
+  // text[offset + position] = val * (text[offset + position] or its zero replacement)
+  private void multiplyText(int position, int zeroReplacement) {
+    loadText(position);
+    pushInt(0xFF);
+    emit(0x7E);
+    store(SMALL_BLOCK);
+    replaceZero(SMALL_BLOCK, zeroReplacement);
+
+    textIndex(position);
+    product();
+    emit(0x54); // bastore
+  }
+
+  // text[offset + position] ^= val
+  private void xorText(int position) {
+    textIndex(position);
+    loadText(position);
+    load(VAL);
+    emit(0x82); // ixor
+    emit(0x54); // bastore
+  }
+
+  private void loadText(int position) {
+    textIndex(position);
+    emit(0x33); // baload
+  }
+
+  private void textIndex(int position) {
+    emit(0x2A); // aload_0
+    emit(0x1B); // iload_1
+    if (position != 0) {
+      pushInt(position);
+      emit(0x60); // iadd
+    }
+  }
+
+  private void load(int local) {
+    emit(0x15); // iload
+    emit(local);
+  }
+
+  private void store(int local) {
+    emit(0x36); // istore
+    emit(local);
+  }
+
+  private void pushInt(int value) {
+    if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+      emit(0x10); // bipush
+      emit(value);
+    } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+      emit(0x11); // sipush
+      emitShort(value);
+    } else {
+      emit(0x13); // ldc_w
+      emitShort(constantPool.integer(value));
+    }
+  }
+
+  private void emit(int b) {
+    if (codeSize == code.length) {
+      code = Arrays.copyOf(code, 2 * code.length);
+    }
+
+    code[codeSize++] = (byte) b;
+  }
+
+  private void emitShort(int value) {
+    emit(value >>> 8);
+    emit(value);
+  }
+
+  // Starts a new part before the last step if it overflowed the current one
+  private void endStep() {
+    if (codeSize > PART_CODE_LIMIT) {
+      if (stepStart > 0) {
+        parts.add(Arrays.copyOf(code, stepStart));
+        partsSize += stepStart;
+      }
+
+      codeSize -= stepStart;
+      System.arraycopy(code, stepStart, code, 0, codeSize);
+    }
+
+    stepStart = codeSize;
+
+    tooLarge |= partsSize + codeSize > MAX_CODE_SIZE || codeSize > PART_CODE_LIMIT;
+  }
+
+  // endregion
+
+  // region class file
+
+  private byte[] writeClass() throws IOException {
+    int thisClass = constantPool.classRef(CLASS_NAME);
+    int superClass = constantPool.classRef("java/lang/Object");
+    int operationInterface = constantPool.classRef(BlockOperation.class.getName().replace('.', '/'));
+
+    int sBoxField = constantPool.fieldRef(thisClass, "sBox", "[I");
+    int productsField = constantPool.fieldRef(thisClass, "products", "[B");
+    int objectInit = constantPool.methodRef(superClass, "<init>", "()V");
+
+    ByteArrayOutputStream methods = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(methods);
+
+    // <init>(int[] sBox, byte[] products)
+    writeMethod(out, 0x0001, "<init>", "([I[B)V", 2, 3, new byte[] {
+            0x2A, (byte) 0xB7, hi(objectInit), lo(objectInit),
+            0x2A, 0x2B, (byte) 0xB5, hi(sBoxField), lo(sBoxField),
+            0x2A, 0x2C, (byte) 0xB5, hi(productsField), lo(productsField),
+            (byte) 0xB1
+    });
+
+    // apply(byte[] text, int offset) calls every part in order
+    ByteArrayOutputStream apply = new ByteArrayOutputStream();
+    for (int i = 0; i < parts.size(); i++) {
+      int part = constantPool.methodRef(thisClass, "part" + i, PART_DESCRIPTOR);
+
+      apply.write(new byte[] {
+              0x2B, 0x1C,
+              0x2A, (byte) 0xB4, hi(sBoxField), lo(sBoxField),
+              0x2A, (byte) 0xB4, hi(productsField), lo(productsField),
+              (byte) 0xB8, hi(part), lo(part)
+      });
+    }
+    apply.write(0xB1);
+    writeMethod(out, 0x0011, "apply", "([BI)V", 4, 3, apply.toByteArray());
+
+    for (int i = 0; i < parts.size(); i++) {
+      byte[] part = Arrays.copyOf(parts.get(i), parts.get(i).length + 1);
+      part[part.length - 1] = (byte) 0xB1; // return
+
+      writeMethod(out, 0x000A, "part" + i, PART_DESCRIPTOR, 8, 6, part);
+    }
+
+    int sBoxName = constantPool.utf8("sBox");
+    int sBoxDescriptor = constantPool.utf8("[I");
+    int productsName = constantPool.utf8("products");
+    int productsDescriptor = constantPool.utf8("[B");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream classFile = new DataOutputStream(bytes);
+
+    classFile.writeInt(0xCAFEBABE);
+    classFile.writeShort(0);
+    classFile.writeShort(61);
+    constantPool.write(classFile);
+
+    classFile.writeShort(0x0030); // final super
+    classFile.writeShort(thisClass);
+    classFile.writeShort(superClass);
+    classFile.writeShort(1);
+    classFile.writeShort(operationInterface);
+
+    classFile.writeShort(2);
+    for (int[] field : new int[][] {{sBoxName, sBoxDescriptor}, {productsName, productsDescriptor}}) {
+      classFile.writeShort(0x0012); // private final
+      classFile.writeShort(field[0]);
+      classFile.writeShort(field[1]);
+      classFile.writeShort(0);
+    }
+
+    classFile.writeShort(2 + parts.size());
+    methods.writeTo(classFile);
+    classFile.writeShort(0);
+
+    return bytes.toByteArray();
+  }
+
+  private void writeMethod(DataOutputStream out, int access, String name, String descriptor,
+                           int maxStack, int maxLocals, byte[] body) throws IOException {
+    out.writeShort(access);
+    out.writeShort(constantPool.utf8(name));
+    out.writeShort(constantPool.utf8(descriptor));
+    out.writeShort(1);
+
+    out.writeShort(constantPool.utf8("Code"));
+    out.writeInt(12 + body.length);
+    out.writeShort(maxStack);
+    out.writeShort(maxLocals);
+    out.writeInt(body.length);
+    out.write(body);
+    out.writeShort(0); // exception table
+    out.writeShort(0); // attributes
+  }
+
+  private static byte hi(int index) {
+    return (byte) (index >>> 8);
+  }
+
+  private static byte lo(int index) {
+    return (byte) index;
+  }
+
+  private static final class ConstantPool {
+    private final ByteArrayOutputStream entries = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(entries);
+    private final Map<String, Integer> indices = new HashMap<>();
+    private int count = 1;
+
+    int utf8(String value) {
+      return entry("U" + value, () -> {
+        out.writeByte(1);
+        out.writeUTF(value);
+      });
+    }
+
+    int integer(int value) {
+      return entry("I" + value, () -> {
+        out.writeByte(3);
+        out.writeInt(value);
+      });
+    }
+
+    int classRef(String name) {
+      int nameIndex = utf8(name);
+
+      return entry("C" + name, () -> {
+        out.writeByte(7);
+        out.writeShort(nameIndex);
+      });
+    }
+
+    int fieldRef(int owner, String name, String descriptor) {
+      return memberRef(9, owner, name, descriptor);
+    }
+
+    int methodRef(int owner, String name, String descriptor) {
+      return memberRef(10, owner, name, descriptor);
+    }
+
+    void write(DataOutputStream classFile) throws IOException {
+      classFile.writeShort(count);
+      entries.writeTo(classFile);
+    }
+
+    private int memberRef(int tag, int owner, String name, String descriptor) {
+      int nameIndex = utf8(name);
+      int descriptorIndex = utf8(descriptor);
+      int nameAndType = entry("N" + name + ":" + descriptor, () -> {
+        out.writeByte(12);
+        out.writeShort(nameIndex);
+        out.writeShort(descriptorIndex);
+      });
+
+      return entry(tag + "." + owner + "." + nameAndType, () -> {
+        out.writeByte(tag);
+        out.writeShort(owner);
+        out.writeShort(nameAndType);
+      });
+    }
+
+    private int entry(String key, EntryWriter writer) {
+      Integer index = indices.get(key);
+
+      if (index == null) {
+        try {
+          writer.write();
+        } catch (IOException e) {
+          throw new IllegalStateException(e);
+        }
+
+        index = count++;
+        indices.put(key, index);
+      }
+
+      return index;
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+      void write() throws IOException;
+    }
+  }
+
+  // endregion
+}
@@ -0,0 +1,7 @@
+package org.hypergraph_hash.hypergraph.transform;
+
+/// Block operation implemented by classes of BlockCodeGenerator
+@FunctionalInterface
+interface BlockOperation {
+  void apply(byte[] text, int offset);
+}
@@ -1,7 +1,53 @@
 package org.hypergraph_hash.hypergraph.transform;
 
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
 public interface BlockTransform {
   byte[] encryption(byte[] text);
 
+  /// Transforms one block from input into output, advancing both. An array-backed output is transformed
+  /// in its backing array; a direct output is not processed in place: the block is copied into a per-thread
+  /// heap array, transformed there and copied back, since the transform bodies index a byte[]
+  void encryption(ByteBuffer input, ByteBuffer output);
+
+  /// Trusted fast path: transforms text[offset .. offset + blockSize) in place, checking only the bounds
+  void encryptInPlace(byte[] text, int offset);
+
+  /// Trusted fast path: transforms src[srcOffset ..] into dst[dstOffset ..]; the ranges may be the same
+  default void encrypt(byte[] src, int srcOffset, byte[] dst, int dstOffset) {
+    int blockSize = getBlockSize();
+
+    Objects.checkFromIndexSize(srcOffset, blockSize, src.length);
+    Objects.checkFromIndexSize(dstOffset, blockSize, dst.length);
+
+    System.arraycopy(src, srcOffset, dst, dstOffset, blockSize);
+    encryptInPlace(dst, dstOffset);
+  }
+
+  /// Transforms blockCount contiguous blocks of src into dst; the ranges may be the same
+  default void encryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    int blockSize = getBlockSize();
+    int length = checkBlocks(src, srcOffset, dst, dstOffset, blockCount, blockSize);
+
+    for (int offset = dstOffset; offset < dstOffset + length; offset += blockSize) {
+      encryptInPlace(dst, offset);
+    }
+  }
+
+  /// Checks the ranges of a bulk operation and copies src into dst, returns the length of the range
+  static int checkBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount, int blockSize) {
+    int length = Math.multiplyExact(blockCount, blockSize);
+
+    Objects.checkFromIndexSize(srcOffset, length, src.length);
+    Objects.checkFromIndexSize(dstOffset, length, dst.length);
+
+    if (src != dst || srcOffset != dstOffset) {
+      System.arraycopy(src, srcOffset, dst, dstOffset, length);
+    }
+
+    return length;
+  }
+
   int getBlockSize();
 }
@@ -0,0 +1,38 @@
+package org.hypergraph_hash.hypergraph.transform;
+
+import org.hypergraph_hash.symmetric_encryption.SymmetricEncryption;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+class CompiledEncryption extends CompiledTransform implements SymmetricEncryption {
+  private final BlockOperation decryption;
+
+  CompiledEncryption(HypergraphTransform reference, BlockOperation encryption, BlockOperation decryption) {
+    super(reference, encryption);
+
+    this.decryption = decryption;
+  }
+
+  @Override
+  public byte[] decryption(byte[] text) {
+    return reference.validateAndTransform(text, decryption::apply);
+  }
+
+  @Override
+  public void decryption(ByteBuffer input, ByteBuffer output) {
+    reference.transformBuffer(input, output, decryption::apply);
+  }
+
+  @Override
+  public void decryptInPlace(byte[] text, int offset) {
+    Objects.checkFromIndexSize(offset, getBlockSize(), text.length);
+
+    decryption.apply(text, offset);
+  }
+
+  @Override
+  public void decryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    applyToBlocks(decryption, src, srcOffset, dst, dstOffset, blockCount);
+  }
+}
@@ -0,0 +1,52 @@
+package org.hypergraph_hash.hypergraph.transform;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/// Transform running generated code; the interpreted transform it was compiled from validates the input
+class CompiledTransform implements BlockTransform {
+  protected final HypergraphTransform reference;
+  private final BlockOperation encryption;
+
+  CompiledTransform(HypergraphTransform reference, BlockOperation encryption) {
+    this.reference = reference;
+    this.encryption = encryption;
+  }
+
+  @Override
+  public byte[] encryption(byte[] text) {
+    return reference.validateAndTransform(text, encryption::apply);
+  }
+
+  @Override
+  public void encryption(ByteBuffer input, ByteBuffer output) {
+    reference.transformBuffer(input, output, encryption::apply);
+  }
+
+  @Override
+  public void encryptInPlace(byte[] text, int offset) {
+    Objects.checkFromIndexSize(offset, getBlockSize(), text.length);
+
+    encryption.apply(text, offset);
+  }
+
+  @Override
+  public void encryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    applyToBlocks(encryption, src, srcOffset, dst, dstOffset, blockCount);
+  }
+
+  @Override
+  public final int getBlockSize() {
+    return reference.getBlockSize();
+  }
+
+  final void applyToBlocks(BlockOperation operation, byte[] src, int srcOffset, byte[] dst, int dstOffset,
+                           int blockCount) {
+    int blockSize = getBlockSize();
+    int length = BlockTransform.checkBlocks(src, srcOffset, dst, dstOffset, blockCount, blockSize);
+
+    for (int offset = dstOffset; offset < dstOffset + length; offset += blockSize) {
+      operation.apply(dst, offset);
+    }
+  }
+}
@@ -3,43 +3,224 @@ package org.hypergraph_hash.hypergraph.transform;
 import org.hypergraph_hash.symmetric_encryption.SymmetricEncryption;
 import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Objects;
 import java.util.function.IntUnaryOperator;
 
 import static org.hypergraph_hash.operations.BitOperations.xorInPlace;
 
 public class HypergraphEncryption extends HypergraphTransform implements SymmetricEncryption {
+  private final int verticesCount;
+
+  private final IntUnaryOperator reverseSelector;
+
+  // Schedules of the key's GF(2) matrix and its inverse, searched on first use of their direction
+  private final LazySchedule encryptionSchedule;
+  private final LazySchedule decryptionSchedule;
+
+  private final ThreadLocal<byte[]> scratch;
+
   public HypergraphEncryption(HomogenousHypergraph key, int smallBlockSize) {
     super(key, smallBlockSize);
+
+    verticesCount = key.getVerticesCount();
+
+    int passLength = hypergraphAdjacencyLists.length;
+    reverseSelector = i -> passLength - 1 - i;
+
+    encryptionSchedule = new LazySchedule(IntUnaryOperator.identity());
+    decryptionSchedule = new LazySchedule(reverseSelector);
+
+    scratch = ThreadLocal.withInitial(() -> new byte[smallBlockSize]);
   }
 
   @Override
   public final byte[] decryption(byte[] text) {
-    return validateAndTransform(text, i -> hypergraphAdjacencyLists.length - 1 - i);
+    return validateAndTransform(text, this::decryptBlock);
+  }
+
+  @Override
+  public final void decryption(ByteBuffer input, ByteBuffer output) {
+    transformBuffer(input, output, this::decryptBlock);
+  }
+
+  @Override
+  public final void decryptInPlace(byte[] text, int offset) {
+    Objects.checkFromIndexSize(offset, getBlockSize(), text.length);
+
+    decryptBlock(text, offset);
+  }
+
+  @Override
+  public void decryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    int blockSize = getBlockSize();
+    int length = BlockTransform.checkBlocks(src, srcOffset, dst, dstOffset, blockCount, blockSize);
+
+    for (int offset = dstOffset; offset < dstOffset + length; offset += blockSize) {
+      decryptBlock(dst, offset);
+    }
+  }
+
+  @Override
+  protected void encryptBlock(byte[] text, int offset) {
+    XorSchedule schedule = encryptionSchedule.get();
+
+    if (schedule != null) {
+      schedule.apply(text, offset, smallBlockSize, scratch(schedule.scratchSize(smallBlockSize)));
+    } else {
+      transform(text, offset, IntUnaryOperator.identity());
+    }
+  }
+
+  protected void decryptBlock(byte[] text, int offset) {
+    XorSchedule schedule = decryptionSchedule.get();
+
+    if (schedule != null) {
+      schedule.apply(text, offset, smallBlockSize, scratch(schedule.scratchSize(smallBlockSize)));
+    } else {
+      transform(text, offset, reverseSelector);
+    }
+  }
+
+  @Override
+  public SymmetricEncryption compile() {
+    BlockOperation encryption = generate(this::emitEncryption);
+    BlockOperation decryption = generate(code -> emitTransform(code, reverseSelector));
+
+    return encryption == null || decryption == null ? this : new CompiledEncryption(this, encryption, decryption);
+  }
+
+  @Override
+  protected boolean emitEncryption(BlockCode code) {
+    return emitTransform(code, IntUnaryOperator.identity());
+  }
+
+  private boolean emitTransform(BlockCode code, IntUnaryOperator vertexSelector) {
+    for (int i = 0; i < hypergraphAdjacencyLists.length; i++) {
+      int vertex = vertexSelector.applyAsInt(i);
+      int[] adjacentPositions = Arrays.stream(hypergraphAdjacencyLists[vertex])
+              .map(adjacentVertex -> smallBlockSize * adjacentVertex)
+              .toArray();
+
+      code.xorStep(smallBlockSize * vertex, adjacentPositions, smallBlockSize,
+              (hypergraphAdjacencyLists[vertex].length & 1) == 1);
+    }
+
+    return true;
+  }
+
+  private byte[] scratch(int size) {
+    byte[] res = scratch.get();
+
+    if (res.length < size) {
+      res = new byte[size];
+      scratch.set(res);
+    }
+
+    return res;
+  }
+
+  /// Schedule run by encryptBlock, null where it runs the vertex steps
+  XorSchedule getEncryptionSchedule() {
+    return encryptionSchedule.get();
+  }
+
+  /// Schedule run by decryptBlock, null where it runs the vertex steps
+  XorSchedule getDecryptionSchedule() {
+    return decryptionSchedule.get();
   }
 
+  /// Small block XORs and copies of one pass of the vertex steps
+  int stepOperationCount() {
+    int stepOperations = 0;
+    for (int[] adjacencyList : hypergraphAdjacencyLists) {
+      stepOperations += 2 * adjacencyList.length + (adjacencyList.length & 1) + 1;
+    }
+
+    return stepOperations;
+  }
+
+  private XorSchedule schedule(IntUnaryOperator vertexSelector) {
+    return XorSchedule.of(linearMap(vertexSelector), stepOperationCount());
+  }
+
+  /// Rows of the GF(2) matrix of transform: output small block i is the XOR of the input small blocks in row i
+  private BitSet[] linearMap(IntUnaryOperator vertexSelector) {
+    BitSet[] rows = new BitSet[verticesCount];
+    for (int i = 0; i < verticesCount; i++) {
+      rows[i] = new BitSet(verticesCount);
+      rows[i].set(i);
+    }
+
+    for (int i = 0; i < hypergraphAdjacencyLists.length; i++) {
+      int vertex = vertexSelector.applyAsInt(i);
+      BitSet tmp = new BitSet(verticesCount);
+
+      for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
+        tmp.xor(rows[adjacentVertex]);
+      }
+      if ((hypergraphAdjacencyLists[vertex].length & 1) == 1) {
+        tmp.xor(rows[vertex]);
+      }
+
+      rows[vertex].xor(tmp);
+      for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
+        rows[adjacentVertex].xor(tmp);
+      }
+    }
+
+    return rows;
+  }
+
+  /// Vertex by vertex reference of the schedules
   @Override
-  protected byte[] transform(byte[] text, IntUnaryOperator vertexSelector) {
-    byte[] tmp = new byte[smallBlockSize];
+  protected void transform(byte[] text, int offset, IntUnaryOperator vertexSelector) {
+    byte[] tmp = scratch.get();
 
     for (int i = 0; i < hypergraphAdjacencyLists.length; i++) {
-      Arrays.fill(tmp, (byte) 0);
+      Arrays.fill(tmp, 0, smallBlockSize, (byte) 0);
 
       int vertex = vertexSelector.applyAsInt(i);
 
       for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
-        xorInPlace(tmp, 0, text, smallBlockSize * adjacentVertex, smallBlockSize);
+        xorInPlace(tmp, 0, text, offset + smallBlockSize * adjacentVertex, smallBlockSize);
       }
       if ((hypergraphAdjacencyLists[vertex].length & 1) == 1) {
-        xorInPlace(tmp, 0, text, smallBlockSize * vertex, smallBlockSize);
+        xorInPlace(tmp, 0, text, offset + smallBlockSize * vertex, smallBlockSize);
       }
 
-      xorInPlace(text, smallBlockSize * vertex, tmp, 0, smallBlockSize);
+      xorInPlace(text, offset + smallBlockSize * vertex, tmp, 0, smallBlockSize);
       for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
-        xorInPlace(text, smallBlockSize * adjacentVertex, tmp, 0, smallBlockSize);
+        xorInPlace(text, offset + smallBlockSize * adjacentVertex, tmp, 0, smallBlockSize);
       }
     }
+  }
+
+  // The pair search takes a while on large keys, so it runs only once blocks go through its direction.
+  // schedule stays null where the vertex steps need fewer XORs
+  private final class LazySchedule {
+    private final IntUnaryOperator vertexSelector;
+
+    private volatile boolean searched;
+    private XorSchedule schedule;
+
+    private LazySchedule(IntUnaryOperator vertexSelector) {
+      this.vertexSelector = vertexSelector;
+    }
 
-    return text;
+    XorSchedule get() {
+      if (!searched) {
+        synchronized (this) {
+          if (!searched) {
+            schedule = schedule(vertexSelector);
+            searched = true;
+          }
+        }
+      }
+
+      return schedule;
+    }
   }
 }
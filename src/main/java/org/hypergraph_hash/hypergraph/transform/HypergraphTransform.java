@@ -1,9 +1,18 @@
 package org.hypergraph_hash.hypergraph.transform;
 
 import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
+import org.hypergraph_hash.hypergraph.HyperEdge;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.IntUnaryOperator;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import static org.hypergraph_hash.utilities.Validation.*;
 
@@ -13,25 +22,62 @@ public abstract class HypergraphTransform implements BlockTransform {
 
   protected final int[][] hypergraphAdjacencyLists;
 
+  private final ThreadLocal<byte[]> scratchBlock;
+
   protected HypergraphTransform(HomogenousHypergraph key, int smallBlockSize) {
     validatePositive(smallBlockSize, "smallBlockSize");
 
     this.smallBlockSize = smallBlockSize;
     this.blockSize = smallBlockSize * key.getVerticesCount();
 
-    this.hypergraphAdjacencyLists = new int[key.getVerticesCount() - key.getEdgeDimension() + 1][];
-    for (int i = 0; i < hypergraphAdjacencyLists.length; i++) {
-      int vertex = i;
+    this.hypergraphAdjacencyLists = adjacencyLists(key, key.getVerticesCount() - key.getEdgeDimension() + 1);
 
-      hypergraphAdjacencyLists[i] = key.getVerticesAdjacentTo(vertex)
-              .filter(incidentVertex -> incidentVertex > vertex)
-              .toArray();
-    }
+    scratchBlock = ThreadLocal.withInitial(() -> new byte[blockSize]);
+  }
+
+  // Larger neighbours of every vertex in the order of getVerticesAdjacentTo, from one pass over the edges
+  private static int[][] adjacencyLists(HomogenousHypergraph key, int listCount) {
+    List<Set<Integer>> adjacent = Stream.<Set<Integer>>generate(LinkedHashSet::new)
+            .limit(listCount)
+            .toList();
+
+    key.getEdges().stream()
+            .mapToObj(edgeIndex -> HyperEdge.getByIndex(edgeIndex, key.getVerticesCount(), key.getEdgeDimension()))
+            .forEach(edge -> edge.stream()
+                    .filter(vertex -> vertex < listCount)
+                    .forEach(vertex -> edge.stream()
+                            .filter(incidentVertex -> incidentVertex > vertex)
+                            .forEach(adjacent.get(vertex)::add)));
+
+    return adjacent.stream()
+            .map(vertices -> vertices.stream().mapToInt(Integer::intValue).toArray())
+            .toArray(int[][]::new);
   }
 
   @Override
   public byte[] encryption(byte[] text) {
-    return validateAndTransform(text, IntUnaryOperator.identity());
+    return validateAndTransform(text, this::encryptBlock);
+  }
+
+  @Override
+  public void encryption(ByteBuffer input, ByteBuffer output) {
+    transformBuffer(input, output, this::encryptBlock);
+  }
+
+  @Override
+  public final void encryptInPlace(byte[] text, int offset) {
+    Objects.checkFromIndexSize(offset, blockSize, text.length);
+
+    encryptBlock(text, offset);
+  }
+
+  @Override
+  public void encryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    int length = BlockTransform.checkBlocks(src, srcOffset, dst, dstOffset, blockCount, blockSize);
+
+    for (int offset = dstOffset; offset < dstOffset + length; offset += blockSize) {
+      encryptBlock(dst, offset);
+    }
   }
 
   @Override
@@ -39,15 +85,64 @@ public abstract class HypergraphTransform implements BlockTransform {
     return blockSize;
   }
 
+  /// Equivalent transform running bytecode generated for this key,
+  /// or this transform if the key can't be compiled or is too large
+  public BlockTransform compile() {
+    BlockOperation encryption = generate(this::emitEncryption);
+
+    return encryption == null ? this : new CompiledTransform(this, encryption);
+  }
+
+  /// Emits the steps of encryptBlock, returns false if the transform has no generated form
+  protected boolean emitEncryption(BlockCode code) {
+    return false;
+  }
+
+  final BlockOperation generate(Predicate<BlockCode> emitter) {
+    BlockCodeGenerator code = new BlockCodeGenerator();
+
+    return emitter.test(code) ? code.define() : null;
+  }
+
+
+  protected void encryptBlock(byte[] text, int offset) {
+    transform(text, offset, IntUnaryOperator.identity());
+  }
 
-  protected final byte[] validateAndTransform(byte[] text, IntUnaryOperator vertexSelector) {
+  protected final byte[] validateAndTransform(byte[] text, ObjIntConsumer<byte[]> blockOperation) {
     validateNotNull(text, "Message for encryption");
     validateEquals(text.length, blockSize, "text.length", "blockSize");
 
     text = Arrays.copyOf(text, text.length);
+    blockOperation.accept(text, 0);
 
-    return transform(text, vertexSelector);
+    return text;
+  }
+
+  protected final void transformBuffer(ByteBuffer input, ByteBuffer output, ObjIntConsumer<byte[]> blockOperation) {
+    validateNotNull(input, "Message for encryption");
+    validateNotNull(output, "Output buffer");
+    validateNonLess(input.remaining(), blockSize, "input.remaining");
+    validateNonLess(output.remaining(), blockSize, "output.remaining");
+
+    if (output.hasArray()) {
+      byte[] array = output.array();
+      int position = output.position();
+      int offset = output.arrayOffset() + position;
+
+      input.get(array, offset, blockSize);
+      blockOperation.accept(array, offset);
+
+      output.position(position + blockSize);
+    } else {
+      byte[] block = scratchBlock.get();
+
+      input.get(block, 0, blockSize);
+      blockOperation.accept(block, 0);
+
+      output.put(block, 0, blockSize);
+    }
   }
 
-  protected abstract byte[] transform(byte[] text, IntUnaryOperator vertexSelector);
+  protected abstract void transform(byte[] text, int offset, IntUnaryOperator vertexSelector);
 }
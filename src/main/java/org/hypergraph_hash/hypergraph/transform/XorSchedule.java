@@ -0,0 +1,170 @@
+package org.hypergraph_hash.hypergraph.transform;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static org.hypergraph_hash.operations.BitOperations.xorInPlace;
+
+/// Straight-line XOR program evaluating a linear map over GF(2) on small blocks.
+/// Signals 0..inputCount-1 are the input small blocks and every further signal is the XOR of two earlier ones,
+/// found by greedy common subexpression elimination (Paar): the pair of signals shared by most outputs
+/// is factored out until no pair is shared. Each output is then the XOR of its remaining signals.
+final class XorSchedule {
+  // Bounds the quadratic pair search on large keys by the column words compared,
+  // outputs just keep more signals once it runs out
+  private static final long MAX_SEARCH_WORDS = 1L << 24;
+
+  private final int inputCount;
+
+  private final int[] pairSources;
+  private final int[] outputStart;
+  private final int[] outputSignals;
+
+  private XorSchedule(int inputCount, int[] pairSources, int[] outputStart, int[] outputSignals) {
+    this.inputCount = inputCount;
+    this.pairSources = pairSources;
+    this.outputStart = outputStart;
+    this.outputSignals = outputSignals;
+  }
+
+  /// Schedule for outputs[i] = XOR of inputs j with rows[i].get(j),
+  /// or null if it can't take fewer than maxOperations operations
+  static XorSchedule of(BitSet[] rows, int maxOperations) {
+    int inputCount = rows.length;
+    int words = (rows.length + 63) >>> 6;
+
+    // columns[s] holds the outputs that still need signal s
+    long[][] columns = new long[2 * inputCount][];
+    int[] useCounts = new int[columns.length];
+    int weight = 0;
+    for (int s = 0; s < inputCount; s++) {
+      columns[s] = new long[words];
+    }
+    for (int row = 0; row < rows.length; row++) {
+      for (int s = rows[row].nextSetBit(0); s >= 0; s = rows[row].nextSetBit(s + 1)) {
+        columns[s][row >>> 6] |= 1L << row;
+        useCounts[s]++;
+        weight++;
+      }
+    }
+
+    int[] pairSources = new int[2 * inputCount];
+    int signals = inputCount;
+    long searchedWords = 0;
+
+    while (searchedWords < MAX_SEARCH_WORDS) {
+      int bestCount = 1;
+      int bestA = -1;
+      int bestB = -1;
+
+      for (int a = 0; a < signals; a++) {
+        if (useCounts[a] <= bestCount) {
+          continue;
+        }
+
+        for (int b = a + 1; b < signals; b++) {
+          if (useCounts[b] <= bestCount) {
+            continue;
+          }
+
+          searchedWords += words;
+
+          int count = 0;
+          for (int w = 0; w < words; w++) {
+            count += Long.bitCount(columns[a][w] & columns[b][w]);
+          }
+
+          if (count > bestCount) {
+            bestCount = count;
+            bestA = a;
+            bestB = b;
+          }
+        }
+      }
+
+      if (bestA < 0) {
+        break;
+      }
+
+      // Shared counts never grow, so a pair of weight bestCount saves the most per operation from here on
+      // and the remaining weight can't go below one signal per output
+      long savable = ((long) (weight - rows.length) * (bestCount - 1) + bestCount - 1) / bestCount;
+      if (signals + weight - savable >= maxOperations) {
+        return null;
+      }
+
+      if (signals == columns.length) {
+        columns = Arrays.copyOf(columns, 2 * signals);
+        useCounts = Arrays.copyOf(useCounts, 2 * signals);
+        pairSources = Arrays.copyOf(pairSources, 2 * (2 * signals - inputCount));
+      }
+
+      long[] shared = new long[words];
+      for (int w = 0; w < words; w++) {
+        shared[w] = columns[bestA][w] & columns[bestB][w];
+        columns[bestA][w] &= ~shared[w];
+        columns[bestB][w] &= ~shared[w];
+      }
+
+      useCounts[bestA] -= bestCount;
+      useCounts[bestB] -= bestCount;
+      useCounts[signals] = bestCount;
+      weight -= bestCount;
+
+      pairSources[2 * (signals - inputCount)] = bestA;
+      pairSources[2 * (signals - inputCount) + 1] = bestB;
+      columns[signals++] = shared;
+    }
+
+    int[] outputStart = new int[rows.length + 1];
+    int[] outputSignals = new int[0];
+    for (int row = 0; row < rows.length; row++) {
+      outputStart[row + 1] = outputStart[row];
+
+      for (int s = 0; s < signals; s++) {
+        if ((columns[s][row >>> 6] & 1L << row) != 0) {
+          if (outputStart[row + 1] == outputSignals.length) {
+            outputSignals = Arrays.copyOf(outputSignals, Math.max(16, 2 * outputSignals.length));
+          }
+          outputSignals[outputStart[row + 1]++] = s;
+        }
+      }
+    }
+
+    var schedule = new XorSchedule(inputCount, Arrays.copyOf(pairSources, 2 * (signals - inputCount)),
+            outputStart, Arrays.copyOf(outputSignals, outputStart[rows.length]));
+
+    return schedule.operationCount() < maxOperations ? schedule : null;
+  }
+
+  /// Small block XORs and copies per application
+  int operationCount() {
+    return inputCount + pairSources.length / 2 + outputSignals.length;
+  }
+
+  int scratchSize(int smallBlockSize) {
+    return (inputCount + pairSources.length / 2) * smallBlockSize;
+  }
+
+  /// Applies the map to the inputCount small blocks at text[offset..], scratch has scratchSize bytes at least
+  void apply(byte[] text, int offset, int smallBlockSize, byte[] scratch) {
+    System.arraycopy(text, offset, scratch, 0, inputCount * smallBlockSize);
+
+    for (int i = 0, signal = inputCount * smallBlockSize; i < pairSources.length; i += 2, signal += smallBlockSize) {
+      int a = pairSources[i] * smallBlockSize;
+      int b = pairSources[i + 1] * smallBlockSize;
+
+      for (int j = 0; j < smallBlockSize; j++) {
+        scratch[signal + j] = (byte) (scratch[a + j] ^ scratch[b + j]);
+      }
+    }
+
+    for (int row = 0, position = offset; row < inputCount; row++, position += smallBlockSize) {
+      System.arraycopy(scratch, outputSignals[outputStart[row]] * smallBlockSize, text, position, smallBlockSize);
+
+      for (int i = outputStart[row] + 1; i < outputStart[row + 1]; i++) {
+        xorInPlace(text, position, scratch, outputSignals[i] * smallBlockSize, smallBlockSize);
+      }
+    }
+  }
+}
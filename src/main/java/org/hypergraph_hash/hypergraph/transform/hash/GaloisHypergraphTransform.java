@@ -1,10 +1,14 @@
 package org.hypergraph_hash.hypergraph.transform.hash;
 
 import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
+import org.hypergraph_hash.hypergraph.transform.BlockCode;
 import org.hypergraph_hash.hypergraph.transform.HypergraphTransform;
+import org.hypergraph_hash.tables.GF8LogTables;
 import org.hypergraph_hash.tables.Irreducible;
 import org.hypergraph_hash.operations.GaloisFieldOperations;
 
+import java.util.Arrays;
+import java.util.Objects;
 import java.util.function.IntUnaryOperator;
 
 import static org.hypergraph_hash.operations.BitOperations.*;
@@ -17,6 +21,28 @@ public class GaloisHypergraphTransform extends HypergraphTransform {
   private final int edgeDimension; // k
   private final int verticesCount; // n
 
+  private final IntUnaryOperator reverseSelector;
+
+  private final int[] sBox;
+
+  // Products are accumulated as exponents of the field generator; logs of zero are -1
+  private final GF8LogTables logTables;
+  private final int[] log;
+  private final int[] exp;
+  private final int[] logSBox;
+
+  // Compiled plan: one step per vertex of the forward pass followed by the reverse pass,
+  // neighbours of step s are stepNeighbours[neighboursStart[s] .. neighboursStart[s + 1]).
+  // Zero replacements are stored as logs
+  private final int[] stepPositions;
+  private final int[] stepSBoxZeroReplacements;
+  private final int[] stepZeroReplacements;
+  private final int[] neighboursStart;
+  private final int[] stepNeighbours;
+  private final int[] neighbourZeroReplacements;
+
+  private final ThreadLocal<int[]> laneLogs = ThreadLocal.withInitial(() -> new int[0]);
+
   /// GF8
   public GaloisHypergraphTransform(HomogenousHypergraph key) {
     super(key, 1);
@@ -25,20 +51,119 @@ public class GaloisHypergraphTransform extends HypergraphTransform {
     verticesCount = key.getVerticesCount();
 
     gf8Irreducible = Irreducible.getGF8((edgeDimension + 27) % 30);
+
+    reverseSelector = i -> verticesCount - 1 - i;
+
+    logTables = GF8LogTables.of(gf8Irreducible);
+    log = logTables.getLogTable();
+    exp = logTables.getExpTable();
+
+    sBox = new int[GF8_SIZE];
+    logSBox = new int[GF8_SIZE];
+    for (int x = 0; x < GF8_SIZE; x++) {
+      sBox[x] = getSBox(edgeDimension, x);
+      logSBox[x] = log[sBox[x]];
+    }
+
+    int passLength = hypergraphAdjacencyLists.length;
+    int edgesCount = Arrays.stream(hypergraphAdjacencyLists).mapToInt(list -> list.length).sum();
+
+    stepPositions = new int[2 * passLength];
+    stepSBoxZeroReplacements = new int[2 * passLength];
+    stepZeroReplacements = new int[2 * passLength];
+    neighboursStart = new int[2 * passLength + 1];
+    stepNeighbours = new int[2 * edgesCount];
+    neighbourZeroReplacements = new int[2 * edgesCount];
+
+    int edge = 0;
+    for (int step = 0; step < 2 * passLength; step++) {
+      int vertex = step % passLength;
+      IntUnaryOperator vertexSelector = step < passLength ? IntUnaryOperator.identity() : reverseSelector;
+
+      stepPositions[step] = vertexSelector.applyAsInt(vertex);
+      stepSBoxZeroReplacements[step] = log[zeroReplacement(vertex, vertex ^ edgeDimension)];
+      stepZeroReplacements[step] = log[zeroReplacement(vertex + edgeDimension, vertex)];
+      neighboursStart[step] = edge;
+
+      for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
+        stepNeighbours[edge] = vertexSelector.applyAsInt(adjacentVertex);
+        neighbourZeroReplacements[edge] = log[zeroReplacement(vertex, adjacentVertex)];
+        edge++;
+      }
+    }
+    neighboursStart[2 * passLength] = edge;
   }
 
+  /// Runs the compiled plan, equivalent to the identity pass followed by the reverse pass of transform
   @Override
-  public byte[] encryption(byte[] text) {
-    return transform(
-            validateAndTransform(text, IntUnaryOperator.identity()),
-            i -> verticesCount - 1 - i
-    );
+  protected void encryptBlock(byte[] text, int offset) {
+    for (int step = 0; step < stepPositions.length; step++) {
+      int center = offset + stepPositions[step];
+      int from = neighboursStart[step];
+      int to = neighboursStart[step + 1];
+
+      int logVal = logSBox[text[center] & 0xFF];
+      if (logVal < 0) {
+        logVal = stepSBoxZeroReplacements[step];
+      }
+
+      for (int edge = from; edge < to; edge++) {
+        int logSmallBlock = logSBox[text[offset + stepNeighbours[edge]] & 0xFF];
+
+        if (logSmallBlock < 0) {
+          logSmallBlock = neighbourZeroReplacements[edge];
+        }
+
+        logVal += logSmallBlock;
+      }
+      logVal %= GF8LogTables.ORDER;
+
+      int logSmallBlock = log[text[center] & 0xFF];
+      if (logSmallBlock < 0) {
+        logSmallBlock = stepZeroReplacements[step];
+      }
+
+      text[center] = (byte) exp[logVal + logSmallBlock];
+
+      for (int edge = from; edge < to; edge++) {
+        int blockIndex = offset + stepNeighbours[edge];
+        logSmallBlock = log[text[blockIndex] & 0xFF];
+
+        if (logSmallBlock < 0) {
+          logSmallBlock = neighbourZeroReplacements[edge];
+        }
+
+        text[blockIndex] = (byte) exp[logVal + logSmallBlock];
+      }
+    }
+  }
+
+  @Override
+  protected boolean emitEncryption(BlockCode code) {
+    byte[] products = new byte[GF8_SIZE * GF8_SIZE];
+    for (int a = 0; a < GF8_SIZE; a++) {
+      for (int b = 0; b < GF8_SIZE; b++) {
+        products[a << 8 | b] = (byte) logTables.mult(a, b);
+      }
+    }
+
+    code.useGaloisTables(sBox, products);
+
+    int[] neighbourReplacements = Arrays.stream(neighbourZeroReplacements).map(logTables::exp).toArray();
+    for (int step = 0; step < stepPositions.length; step++) {
+      code.galoisStep(stepPositions[step],
+              logTables.exp(stepSBoxZeroReplacements[step]), logTables.exp(stepZeroReplacements[step]),
+              stepNeighbours, neighbourReplacements, neighboursStart[step], neighboursStart[step + 1]);
+    }
+
+    return true;
   }
 
+  /// Interpreted form of a single pass, kept as the reference for the compiled plan
   @Override
-  protected byte[] transform(byte[] text, IntUnaryOperator vertexSelector) {
+  protected void transform(byte[] text, int offset, IntUnaryOperator vertexSelector) {
     for (int vertex = 0; vertex < hypergraphAdjacencyLists.length; vertex++) {
-      int curVertexBlockIndex = vertexSelector.applyAsInt(vertex);
+      int curVertexBlockIndex = offset + vertexSelector.applyAsInt(vertex);
 
       int val = getSBox(edgeDimension,text[curVertexBlockIndex] & 0xFF);
       if (val == 0) {
@@ -48,7 +173,7 @@ public class GaloisHypergraphTransform extends HypergraphTransform {
       int smallBlock;
 
       for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
-        int blockIndex = vertexSelector.applyAsInt(adjacentVertex);
+        int blockIndex = offset + vertexSelector.applyAsInt(adjacentVertex);
         smallBlock = getSBox(edgeDimension, (text[blockIndex]) & 0xFF);
 
         if (smallBlock == 0) {
@@ -66,7 +191,7 @@ public class GaloisHypergraphTransform extends HypergraphTransform {
       text[curVertexBlockIndex] = (byte) GaloisFieldOperations.mult(val, smallBlock, gf8Irreducible, GF8_SIZE);
 
       for (int adjacentVertex : hypergraphAdjacencyLists[vertex]) {
-        int blockIndex = vertexSelector.applyAsInt(adjacentVertex);
+        int blockIndex = offset + vertexSelector.applyAsInt(adjacentVertex);
         smallBlock = text[blockIndex] & 0xFF;
 
         if (smallBlock == 0) {
@@ -76,8 +201,63 @@ public class GaloisHypergraphTransform extends HypergraphTransform {
         text[blockIndex] = (byte) GaloisFieldOperations.mult(val, smallBlock, gf8Irreducible, GF8_SIZE);
       }
     }
+  }
+
+  /// Runs the compiled plan on laneCount independent blocks stored interleaved, byte i of lane l at
+  /// text[i * laneCount + l]. Every step is applied to all lanes before the next one,
+  /// so the table lookups of different lanes are independent and overlap
+  public void encryptLanes(byte[] text, int laneCount) {
+    Objects.checkFromIndexSize(0, Math.multiplyExact(getBlockSize(), laneCount), text.length);
+
+    int[] logVals = laneLogs.get();
+    if (logVals.length < laneCount) {
+      logVals = new int[laneCount];
+      laneLogs.set(logVals);
+    }
+
+    for (int step = 0; step < stepPositions.length; step++) {
+      int center = stepPositions[step] * laneCount;
+      int from = neighboursStart[step];
+      int to = neighboursStart[step + 1];
+
+      int replacement = stepSBoxZeroReplacements[step];
+      for (int lane = 0; lane < laneCount; lane++) {
+        int logVal = logSBox[text[center + lane] & 0xFF];
 
-    return text;
+        logVals[lane] = logVal < 0 ? replacement : logVal;
+      }
+
+      for (int edge = from; edge < to; edge++) {
+        int neighbour = stepNeighbours[edge] * laneCount;
+        replacement = neighbourZeroReplacements[edge];
+
+        for (int lane = 0; lane < laneCount; lane++) {
+          int logSmallBlock = logSBox[text[neighbour + lane] & 0xFF];
+
+          logVals[lane] += logSmallBlock < 0 ? replacement : logSmallBlock;
+        }
+      }
+
+      replacement = stepZeroReplacements[step];
+      for (int lane = 0; lane < laneCount; lane++) {
+        int logVal = logVals[lane] % GF8LogTables.ORDER;
+        int logSmallBlock = log[text[center + lane] & 0xFF];
+
+        logVals[lane] = logVal;
+        text[center + lane] = (byte) exp[logVal + (logSmallBlock < 0 ? replacement : logSmallBlock)];
+      }
+
+      for (int edge = from; edge < to; edge++) {
+        int neighbour = stepNeighbours[edge] * laneCount;
+        replacement = neighbourZeroReplacements[edge];
+
+        for (int lane = 0; lane < laneCount; lane++) {
+          int logSmallBlock = log[text[neighbour + lane] & 0xFF];
+
+          text[neighbour + lane] = (byte) exp[logVals[lane] + (logSmallBlock < 0 ? replacement : logSmallBlock)];
+        }
+      }
+    }
   }
 
   private int zeroReplacement(int i, int j) {
@@ -0,0 +1,43 @@
+package org.hypergraph_hash.provider;
+
+import org.hypergraph_hash.CryptographicHash;
+
+import java.security.Provider;
+
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
+/// Hashes are keyed, so services are bound to configured instances and registered under their algorithm names.
+/// Two instances sharing a name (e.g. the same algorithm under two keys) need separate providers
+public final class HypergraphHashProvider extends Provider {
+  public static final String NAME = "HypergraphHash";
+
+  public HypergraphHashProvider(CryptographicHash... hashes) {
+    super(NAME, "1.0", "Hypergraph hash message digests");
+
+    for (CryptographicHash hash : hashes) {
+      validateNotNull(hash, "Hash");
+
+      if (getService("MessageDigest", hash.getAlgorithmName()) != null) {
+        throw new IllegalArgumentException("Duplicate algorithm name: " + hash.getAlgorithmName());
+      }
+
+      putService(new MessageDigestService(this, hash));
+    }
+  }
+
+  private static final class MessageDigestService extends Service {
+    private final CryptographicHash hash;
+
+    private MessageDigestService(Provider provider, CryptographicHash hash) {
+      super(provider, "MessageDigest", hash.getAlgorithmName(),
+              HypergraphMessageDigest.class.getName(), null, null);
+
+      this.hash = hash;
+    }
+
+    @Override
+    public Object newInstance(Object constructorParameter) {
+      return new HypergraphMessageDigest(hash);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package org.hypergraph_hash.provider;
+
+import org.hypergraph_hash.CryptographicHash;
+import org.hypergraph_hash.Hasher;
+
+import java.nio.ByteBuffer;
+import java.security.DigestException;
+import java.security.MessageDigestSpi;
+
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
+public class HypergraphMessageDigest extends MessageDigestSpi implements Cloneable {
+  private final CryptographicHash hash;
+
+  private Hasher hasher;
+  private byte[] singleByte;
+
+  public HypergraphMessageDigest(CryptographicHash hash) {
+    validateNotNull(hash, "Hash");
+
+    this.hash = hash;
+
+    hasher = hash.newHasher();
+    singleByte = new byte[1];
+  }
+
+  @Override
+  protected int engineGetDigestLength() {
+    return hash.getHashLength();
+  }
+
+  @Override
+  protected void engineUpdate(byte input) {
+    singleByte[0] = input;
+
+    hasher.update(singleByte, 0, 1);
+  }
+
+  @Override
+  protected void engineUpdate(byte[] input, int offset, int len) {
+    hasher.update(input, offset, len);
+  }
+
+  @Override
+  protected void engineUpdate(ByteBuffer input) {
+    hasher.update(input);
+  }
+
+  // Empty input hashes to a zero block of the block size, the digest keeps only its first getHashLength() bytes
+  @Override
+  protected byte[] engineDigest() {
+    byte[] res = new byte[engineGetDigestLength()];
+    hasher.digest(res, 0, res.length);
+
+    return res;
+  }
+
+  @Override
+  protected int engineDigest(byte[] buf, int offset, int len) throws DigestException {
+    if (len < engineGetDigestLength()) {
+      throw new DigestException("Output buffer is too small: " + len + " < " + engineGetDigestLength());
+    }
+
+    hasher.digest(buf, offset, engineGetDigestLength());
+
+    return engineGetDigestLength();
+  }
+
+  @Override
+  protected void engineReset() {
+    hasher.reset();
+  }
+
+  @Override
+  public HypergraphMessageDigest clone() throws CloneNotSupportedException {
+    HypergraphMessageDigest res = (HypergraphMessageDigest) super.clone();
+
+    res.hasher = hasher.copy();
+    res.singleByte = new byte[1];
+
+    return res;
+  }
+}
@@ -0,0 +1,95 @@
+package org.hypergraph_hash.sketch;
+
+import org.hypergraph_hash.MerkleDamgardConstruction;
+
+import java.util.Objects;
+
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+import static org.hypergraph_hash.utilities.Validation.validatePositive;
+
+/// Thread-safe, lock-free Bloom filter; all probes come from one digest of the key
+public class BloomFilter {
+  private final ProbeHash probeHash;
+  private final LongWordStorage bits;
+
+  private final long bitCount;
+  private final int hashCount;
+
+  public BloomFilter(MerkleDamgardConstruction hash, long bitCount, int hashCount) {
+    validatePositive(bitCount, "bitCount");
+    validatePositive(hashCount, "hashCount");
+
+    this.probeHash = new ProbeHash(hash);
+    this.bits = new LongWordStorage(Math.ceilDiv(bitCount, Long.SIZE));
+
+    this.bitCount = bitCount;
+    this.hashCount = hashCount;
+  }
+
+  public static BloomFilter forExpectedInsertions(MerkleDamgardConstruction hash, long expectedInsertions,
+                                                  double falsePositiveRate) {
+    validatePositive(expectedInsertions, "expectedInsertions");
+
+    if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+      throw new IllegalArgumentException("falsePositiveRate must be in (0, 1)");
+    }
+
+    double ln2 = Math.log(2);
+    long bitCount = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (ln2 * ln2));
+    int hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * ln2));
+
+    return new BloomFilter(hash, bitCount, hashCount);
+  }
+
+  public boolean put(byte[] key) {
+    validateNotNull(key, "Key");
+
+    return put(key, 0, key.length);
+  }
+
+  /// Returns true if the filter changed, i.e. the key was definitely absent before
+  public boolean put(byte[] key, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, key.length);
+
+    long[] digest = probeHash.digest(key, offset, length);
+    boolean changed = false;
+
+    for (int i = 0; i < hashCount; i++) {
+      long bit = ProbeHash.probe(digest, i, bitCount);
+
+      changed |= bits.or(bit >>> 6, 1L << bit);
+    }
+
+    return changed;
+  }
+
+  public boolean mightContain(byte[] key) {
+    validateNotNull(key, "Key");
+
+    return mightContain(key, 0, key.length);
+  }
+
+  public boolean mightContain(byte[] key, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, key.length);
+
+    long[] digest = probeHash.digest(key, offset, length);
+
+    for (int i = 0; i < hashCount; i++) {
+      long bit = ProbeHash.probe(digest, i, bitCount);
+
+      if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  public final long getBitCount() {
+    return bitCount;
+  }
+
+  public final int getHashCount() {
+    return hashCount;
+  }
+}
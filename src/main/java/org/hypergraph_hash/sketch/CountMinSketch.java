@@ -0,0 +1,73 @@
+package org.hypergraph_hash.sketch;
+
+import org.hypergraph_hash.MerkleDamgardConstruction;
+
+import java.util.Objects;
+
+import static org.hypergraph_hash.utilities.Validation.*;
+
+/// Thread-safe, lock-free count-min sketch; the column of every row comes from one digest of the key
+public class CountMinSketch {
+  private final ProbeHash probeHash;
+  private final LongWordStorage counters;
+
+  private final int width;
+  private final int depth;
+
+  public CountMinSketch(MerkleDamgardConstruction hash, int width, int depth) {
+    validatePositive(width, "width");
+    validatePositive(depth, "depth");
+
+    this.probeHash = new ProbeHash(hash);
+    this.counters = new LongWordStorage((long) width * depth);
+
+    this.width = width;
+    this.depth = depth;
+  }
+
+  public void add(byte[] key, long count) {
+    validateNotNull(key, "Key");
+
+    add(key, 0, key.length, count);
+  }
+
+  public void add(byte[] key, int offset, int length, long count) {
+    Objects.checkFromIndexSize(offset, length, key.length);
+    if (count < 0) {
+      throw new IllegalArgumentException("count must be non-negative. value: " + count);
+    }
+
+    long[] digest = probeHash.digest(key, offset, length);
+
+    for (int row = 0; row < depth; row++) {
+      counters.add((long) row * width + ProbeHash.probe(digest, row, width), count);
+    }
+  }
+
+  public long estimate(byte[] key) {
+    validateNotNull(key, "Key");
+
+    return estimate(key, 0, key.length);
+  }
+
+  public long estimate(byte[] key, int offset, int length) {
+    Objects.checkFromIndexSize(offset, length, key.length);
+
+    long[] digest = probeHash.digest(key, offset, length);
+    long res = Long.MAX_VALUE;
+
+    for (int row = 0; row < depth; row++) {
+      res = Math.min(res, counters.get((long) row * width + ProbeHash.probe(digest, row, width)));
+    }
+
+    return res;
+  }
+
+  public final int getWidth() {
+    return width;
+  }
+
+  public final int getDepth() {
+    return depth;
+  }
+}
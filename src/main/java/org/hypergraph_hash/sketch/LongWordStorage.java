@@ -0,0 +1,62 @@
+package org.hypergraph_hash.sketch;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import static org.hypergraph_hash.utilities.Validation.validatePositive;
+
+/// Off-heap array of 64-bit words in direct buffer pages with atomic access
+final class LongWordStorage {
+  private static final int PAGE_SHIFT = 27; // 1 GiB pages
+  private static final long PAGE_MASK = (1L << PAGE_SHIFT) - 1;
+
+  private static final VarHandle WORDS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+  private final ByteBuffer[] pages;
+  private final long wordCount;
+
+  LongWordStorage(long wordCount) {
+    validatePositive(wordCount, "wordCount");
+
+    this.wordCount = wordCount;
+
+    pages = new ByteBuffer[(int) Math.ceilDiv(wordCount, 1L << PAGE_SHIFT)];
+    for (int i = 0; i < pages.length; i++) {
+      long words = Math.min(1L << PAGE_SHIFT, wordCount - ((long) i << PAGE_SHIFT));
+
+      // Atomic view access requires 8-byte aligned words
+      pages[i] = ByteBuffer.allocateDirect((int) (words * Long.BYTES) + Long.BYTES - 1)
+              .alignedSlice(Long.BYTES);
+    }
+  }
+
+  long get(long index) {
+    return (long) WORDS.getVolatile(pages[(int) (index >>> PAGE_SHIFT)], offset(index));
+  }
+
+  /// Returns true if any of the mask bits was not set before
+  boolean or(long index, long mask) {
+    ByteBuffer page = pages[(int) (index >>> PAGE_SHIFT)];
+    int offset = offset(index);
+
+    if (((long) WORDS.getVolatile(page, offset) & mask) == mask) {
+      return false;
+    }
+
+    return ((long) WORDS.getAndBitwiseOr(page, offset, mask) & mask) != mask;
+  }
+
+  long add(long index, long delta) {
+    return (long) WORDS.getAndAdd(pages[(int) (index >>> PAGE_SHIFT)], offset(index), delta) + delta;
+  }
+
+  long getWordCount() {
+    return wordCount;
+  }
+
+  private static int offset(long index) {
+    return (int) (index & PAGE_MASK) * Long.BYTES;
+  }
+}
@@ -0,0 +1,41 @@
+package org.hypergraph_hash.sketch;
+
+import org.hypergraph_hash.MerkleDamgardConstruction;
+
+import static org.hypergraph_hash.utilities.Validation.validateNotNull;
+
+/// Derives any number of probe positions from one 128-bit digest by enhanced double hashing
+final class ProbeHash {
+  private static final int DIGEST_BYTES = 2 * Long.BYTES;
+
+  private final MerkleDamgardConstruction hash;
+  private final ThreadLocal<long[]> digest;
+
+  ProbeHash(MerkleDamgardConstruction hash) {
+    validateNotNull(hash, "Hash");
+
+    if (hash.getHashLength() < DIGEST_BYTES) {
+      throw new IllegalArgumentException("hash length must be at least " + DIGEST_BYTES + " bytes");
+    }
+
+    this.hash = hash;
+    this.digest = ThreadLocal.withInitial(() -> new long[2]);
+  }
+
+  /// Hashes the key; the returned array is thread-local and holds h1, h2
+  long[] digest(byte[] key, int offset, int length) {
+    long[] res = digest.get();
+
+    hash.hashTo128(key, offset, length, res);
+    res[1] |= 1;
+
+    return res;
+  }
+
+  /// i-th probe in [0, bound): h1 + i * h2 + i^2, reduced by multiply-high
+  static long probe(long[] digest, int i, long bound) {
+    long combined = digest[0] + i * digest[1] + (long) i * i;
+
+    return Math.unsignedMultiplyHigh(combined, bound);
+  }
+}
@@ -2,10 +2,38 @@ package org.hypergraph_hash.symmetric_encryption;
 
 import org.hypergraph_hash.hypergraph.transform.BlockTransform;
 
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
 public interface SymmetricEncryption extends BlockTransform {
   byte[] encryption(byte[] text);
 
   byte[] decryption(byte[] text);
 
+  /// Same buffer handling as BlockTransform.encryption(ByteBuffer, ByteBuffer)
+  void decryption(ByteBuffer input, ByteBuffer output);
+
+  /// Trusted fast path, see BlockTransform.encryptInPlace
+  void decryptInPlace(byte[] text, int offset);
+
+  default void decrypt(byte[] src, int srcOffset, byte[] dst, int dstOffset) {
+    int blockSize = getBlockSize();
+
+    Objects.checkFromIndexSize(srcOffset, blockSize, src.length);
+    Objects.checkFromIndexSize(dstOffset, blockSize, dst.length);
+
+    System.arraycopy(src, srcOffset, dst, dstOffset, blockSize);
+    decryptInPlace(dst, dstOffset);
+  }
+
+  default void decryptBlocks(byte[] src, int srcOffset, byte[] dst, int dstOffset, int blockCount) {
+    int blockSize = getBlockSize();
+    int length = BlockTransform.checkBlocks(src, srcOffset, dst, dstOffset, blockCount, blockSize);
+
+    for (int offset = dstOffset; offset < dstOffset + length; offset += blockSize) {
+      decryptInPlace(dst, offset);
+    }
+  }
+
   int getBlockSize();
 }
@@ -43,4 +43,16 @@ public class ArrayRead implements ReadBlock {
       return block;
     }
   }
+
+  @Override
+  public void getRange(int from, int to, byte[] buffer) {
+    // Only a packed last block needs a copy of its own
+    int last = packingFunction != null && (long) to * blockSize > inputSize ? to - 1 : to;
+
+    System.arraycopy(input, from * blockSize, buffer, 0, (last - from) * blockSize);
+
+    if (last < to) {
+      System.arraycopy(get(last), 0, buffer, (last - from) * blockSize, blockSize);
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package org.hypergraph_hash.symmetric_encryption.block;
 
+import java.util.Arrays;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
@@ -29,4 +30,18 @@ public class ArrayWrite implements WriteBlock {
       System.arraycopy(block, 0, output, index, blockSize);
     }
   }
+
+  @Override
+  public void putRange(int from, int to, byte[] buffer) {
+    // Only an unpacked last block needs a copy of its own
+    int last = unpackingFunction != null && (long) to * blockSize >= output.length ? to - 1 : to;
+
+    System.arraycopy(buffer, 0, output, from * blockSize, (last - from) * blockSize);
+
+    if (last < to) {
+      int offset = (last - from) * blockSize;
+
+      put(last, Arrays.copyOfRange(buffer, offset, offset + blockSize));
+    }
+  }
 }
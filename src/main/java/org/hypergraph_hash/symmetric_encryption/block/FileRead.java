@@ -51,4 +51,28 @@ public class FileRead implements ReadBlock {
 
     return block;
   }
+
+  /// Reads the range with one channel; blocks past the end of the file stay zero as in get
+  @Override
+  public void getRange(int from, int to, byte[] buffer) {
+    // Only a packed last block is read on its own
+    int last = packingFunction != null && (long) to * blockSize > fileSize ? to - 1 : to;
+
+    try (FileChannel input = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+      ByteBuffer target = ByteBuffer.wrap(buffer, 0, (last - from) * blockSize);
+
+      input.position((long) from * blockSize);
+
+      int read = 0;
+      while (target.hasRemaining() && read >= 0) {
+        read = input.read(target);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to read file: " + fileName, e);
+    }
+
+    if (last < to) {
+      System.arraycopy(get(last), 0, buffer, (last - from) * blockSize, blockSize);
+    }
+  }
 }
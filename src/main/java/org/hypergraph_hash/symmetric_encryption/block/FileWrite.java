@@ -7,6 +7,7 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.file.Paths;
 import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.function.Function;
 import java.util.function.UnaryOperator;
 
@@ -54,4 +55,32 @@ public class FileWrite implements WriteBlock {
       throw new IllegalStateException("Failed to write to file: " + fileName, e);
     }
   }
+
+  /// Writes the range with one channel
+  @Override
+  public void putRange(int from, int to, byte[] buffer) {
+    // Only an unpacked last block is written on its own
+    int last = unpackingFunction != null && (long) to * blockSize >= fileSize ? to - 1 : to;
+
+    try (FileChannel output = FileChannel.open(
+            Paths.get(fileName),
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE)) {
+
+      ByteBuffer source = ByteBuffer.wrap(buffer, 0, (last - from) * blockSize);
+
+      output.position((long) from * blockSize);
+      while (source.hasRemaining()) {
+        output.write(source);
+      }
+    } catch (IOException e) {
+      throw new IllegalStateException("Failed to write to file: " + fileName, e);
+    }
+
+    if (last < to) {
+      int offset = (last - from) * blockSize;
+
+      put(last, Arrays.copyOfRange(buffer, offset, offset + blockSize));
+    }
+  }
 }
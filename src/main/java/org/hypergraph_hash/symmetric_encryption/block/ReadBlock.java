@@ -2,4 +2,14 @@ package org.hypergraph_hash.symmetric_encryption.block;
 
 public interface ReadBlock {
   byte[] get(int index);
+
+  /// Reads blocks from..to-1 into buffer, which holds exactly these blocks
+  default void getRange(int from, int to, byte[] buffer) {
+    for (int i = from, position = 0; i < to; i++) {
+      byte[] block = get(i);
+
+      System.arraycopy(block, 0, buffer, position, block.length);
+      position += block.length;
+    }
+  }
 }
@@ -1,5 +1,16 @@
 package org.hypergraph_hash.symmetric_encryption.block;
 
+import java.util.Arrays;
+
 public interface WriteBlock {
   void put(int index, byte[] block);
+
+  /// Writes blocks from..to-1 from buffer, which holds exactly these blocks
+  default void putRange(int from, int to, byte[] buffer) {
+    int blockSize = buffer.length / (to - from);
+
+    for (int i = from, position = 0; i < to; i++, position += blockSize) {
+      put(i, Arrays.copyOfRange(buffer, position, position + blockSize));
+    }
+  }
 }
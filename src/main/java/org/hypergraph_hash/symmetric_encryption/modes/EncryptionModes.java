@@ -8,14 +8,18 @@ import org.hypergraph_hash.symmetric_encryption.enums.EncryptionMode;
 
 import java.math.BigInteger;
 import java.security.SecureRandom;
+import java.util.function.IntFunction;
 import java.util.function.UnaryOperator;
 import java.util.stream.IntStream;
 
 import static org.hypergraph_hash.symmetric_encryption.enums.EncryptOrDecrypt.ENCRYPT;
 import static org.hypergraph_hash.operations.BitOperations.xor;
+import static org.hypergraph_hash.operations.BitOperations.xorInPlace;
 import static org.hypergraph_hash.utilities.Validation.validateEquals;
 
 public class EncryptionModes {
+  private static final int RANGE_BLOCKS = 64;
+
   private final SymmetricEncryption symmetricEncryption;
   private final EncryptionMode encryptionMode;
 
@@ -70,25 +74,25 @@ public class EncryptionModes {
 
   private void ECB(ReadBlock readBlock, WriteBlock writeBlock, int blockCount,
                    EncryptOrDecrypt encryptOrDecrypt) {
-    UnaryOperator<byte[]> function = encryptOrDecrypt == ENCRYPT ?
-            symmetricEncryption::encryption : symmetricEncryption::decryption;
+    forEachRange(blockCount, (from, to) -> {
+      byte[] buffer = readRange(readBlock, from, to);
 
-    IntStream.range(0, blockCount).parallel().forEach(i -> {
-      byte[] buffer = readBlock.get(i);
-      writeBlock.put(i, function.apply(buffer));
+      if (encryptOrDecrypt == ENCRYPT) {
+        symmetricEncryption.encryptBlocks(buffer, 0, buffer, 0, to - from);
+      } else {
+        symmetricEncryption.decryptBlocks(buffer, 0, buffer, 0, to - from);
+      }
+
+      writeBlock.putRange(from, to, buffer);
     });
   }
 
   private void CBC(ReadBlock readBlock, WriteBlock writeBlock, int blockCount,
                    EncryptOrDecrypt encryptOrDecrypt) {
-    UnaryOperator<byte[]> function;
-
-    byte[] first = readBlock.get(0);
-
     if (encryptOrDecrypt == ENCRYPT) {
-      function = symmetricEncryption::encryption;
+      UnaryOperator<byte[]> function = symmetricEncryption::encryption;
 
-      byte[] c = function.apply(xor(first, iv));
+      byte[] c = function.apply(xor(readBlock.get(0), iv));
       writeBlock.put(0, c);
 
       for (int i = 1; i < blockCount; i++) {
@@ -98,15 +102,23 @@ public class EncryptionModes {
         writeBlock.put(i, c);
       }
     } else {
-      function = symmetricEncryption::decryption;
+      forEachRange(blockCount, (from, to) -> {
+        // The ciphertext block before the range is read along with it
+        int first = Math.max(from - 1, 0);
 
-      writeBlock.put(0, xor(function.apply(first), iv));
+        byte[] c = readRange(readBlock, first, to);
+        byte[] m = new byte[(to - from) * blockSize];
 
-      IntStream.range(1, blockCount).parallel().forEach(i -> {
-        byte[] c = readBlock.get(i);
-        byte[] prevC = readBlock.get(i - 1);
+        symmetricEncryption.decryptBlocks(c, (from - first) * blockSize, m, 0, to - from);
 
-        writeBlock.put(i, xor(function.apply(c), prevC));
+        if (from == 0) {
+          xorInPlace(m, 0, iv, 0, blockSize);
+          xorInPlace(m, blockSize, c, 0, m.length - blockSize);
+        } else {
+          xorInPlace(m, 0, c, 0, m.length);
+        }
+
+        writeBlock.putRange(from, to, m);
       });
     }
   }
@@ -189,25 +201,47 @@ public class EncryptionModes {
   }
 
   private void CTR(ReadBlock readBlock, WriteBlock writeBlock, int blockCount) {
-    UnaryOperator<byte[]> function = symmetricEncryption::encryption;
-    BigInteger count = new BigInteger(iv);
-
-    IntStream.range(0, blockCount).parallel().forEach(i -> {
-      byte[] buffer = readBlock.get(i);
-      writeBlock.put(i, xor(buffer, function.apply(counter(count, BigInteger.valueOf(i)))));
-    });
+    keyStreamMode(readBlock, writeBlock, blockCount, BigInteger::valueOf);
   }
 
   private void RandomDelta(ReadBlock readBlock, WriteBlock writeBlock, int blockCount) {
-    UnaryOperator<byte[]> function = symmetricEncryption::encryption;
+    keyStreamMode(readBlock, writeBlock, blockCount, i -> modularMultiply(rd, i));
+  }
+
+  // XORs the input with the encrypted counters iv + counterOffset(i), a whole range per call
+  private void keyStreamMode(ReadBlock readBlock, WriteBlock writeBlock, int blockCount,
+                             IntFunction<BigInteger> counterOffset) {
     BigInteger count = new BigInteger(iv);
 
-    IntStream.range(0, blockCount).parallel().forEach(i -> {
-      byte[] buffer = readBlock.get(i);
-      writeBlock.put(i, xor(buffer, function.apply(counter(count, modularMultiply(rd, i)))));
+    forEachRange(blockCount, (from, to) -> {
+      byte[] keyStream = new byte[(to - from) * blockSize];
+
+      for (int i = from; i < to; i++) {
+        System.arraycopy(counter(count, counterOffset.apply(i)), 0, keyStream, (i - from) * blockSize, blockSize);
+      }
+
+      symmetricEncryption.encryptBlocks(keyStream, 0, keyStream, 0, to - from);
+
+      byte[] buffer = readRange(readBlock, from, to);
+      xorInPlace(buffer, 0, keyStream, 0, buffer.length);
+
+      writeBlock.putRange(from, to, buffer);
     });
   }
 
+  // Splits [0, blockCount) into ranges of at most RANGE_BLOCKS blocks processed in parallel
+  private static void forEachRange(int blockCount, RangeOperation operation) {
+    IntStream.range(0, Math.ceilDiv(blockCount, RANGE_BLOCKS)).parallel().forEach(range ->
+            operation.apply(range * RANGE_BLOCKS, Math.min(blockCount, (range + 1) * RANGE_BLOCKS)));
+  }
+
+  private byte[] readRange(ReadBlock readBlock, int from, int to) {
+    byte[] buffer = new byte[(to - from) * blockSize];
+    readBlock.getRange(from, to, buffer);
+
+    return buffer;
+  }
+
   private byte[] counter(BigInteger num, BigInteger n) {
     byte[] res = new byte[blockSize];
 
@@ -228,4 +262,9 @@ public class EncryptionModes {
 
     return rd.multiply(b).mod(rdMax);
   }
+
+  @FunctionalInterface
+  private interface RangeOperation {
+    void apply(int from, int to);
+  }
 }
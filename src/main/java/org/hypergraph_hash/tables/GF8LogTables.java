@@ -0,0 +1,86 @@
+package org.hypergraph_hash.tables;
+
+import org.hypergraph_hash.operations.GaloisFieldOperations;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.hypergraph_hash.operations.GaloisFieldOperations.GF8_SIZE;
+import static org.hypergraph_hash.operations.GaloisFieldOperations.isIrreducible;
+import static org.hypergraph_hash.operations.GaloisFieldOperations.pow;
+
+/// Discrete log and antilog tables of GF(2^8) for one irreducible polynomial. The generator is the smallest
+/// element of order 255, so polynomials that are not primitive (where x is not a generator) work too.
+public final class GF8LogTables {
+  public static final int ORDER = GF8_SIZE - 1;
+
+  private static final Map<Integer, GF8LogTables> CACHE = new ConcurrentHashMap<>();
+
+  private final int generator;
+
+  private final int[] log;
+  private final int[] exp;
+
+  private GF8LogTables(int irreduciblePolynomial) {
+    if (irreduciblePolynomial >>> 8 != 1 || !isIrreducible(irreduciblePolynomial)) {
+      throw new IllegalArgumentException("Not an irreducible polynomial of degree 8: " + irreduciblePolynomial);
+    }
+
+    generator = findGenerator(irreduciblePolynomial);
+
+    log = new int[GF8_SIZE];
+    exp = new int[2 * ORDER];
+
+    int power = 1;
+    for (int e = 0; e < ORDER; e++) {
+      exp[e] = power;
+      exp[e + ORDER] = power;
+      log[power] = e;
+
+      power = GaloisFieldOperations.mult(power, generator, irreduciblePolynomial, GF8_SIZE);
+    }
+    log[0] = -1;
+  }
+
+  public static GF8LogTables of(int irreduciblePolynomial) {
+    return CACHE.computeIfAbsent(irreduciblePolynomial, GF8LogTables::new);
+  }
+
+  /// Exponent e of generator^e = a, or -1 for zero
+  public int log(int a) {
+    return log[a];
+  }
+
+  /// generator^e for 0 <= e < 2 * ORDER, so the sum of two logs needs no reduction
+  public int exp(int e) {
+    return exp[e];
+  }
+
+  public int mult(int a, int b) {
+    return a == 0 || b == 0 ? 0 : exp[log[a] + log[b]];
+  }
+
+  public int getGenerator() {
+    return generator;
+  }
+
+  public int[] getLogTable() {
+    return log.clone();
+  }
+
+  public int[] getExpTable() {
+    return exp.clone();
+  }
+
+  private static int findGenerator(int irreduciblePolynomial) {
+    for (int g = 2; g < GF8_SIZE; g++) {
+      if (pow(g, ORDER / 3, irreduciblePolynomial, GF8_SIZE) != 1
+              && pow(g, ORDER / 5, irreduciblePolynomial, GF8_SIZE) != 1
+              && pow(g, ORDER / 17, irreduciblePolynomial, GF8_SIZE) != 1) {
+        return g;
+      }
+    }
+
+    throw new IllegalStateException("No generator for polynomial " + irreduciblePolynomial);
+  }
+}
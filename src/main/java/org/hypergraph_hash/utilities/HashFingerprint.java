@@ -0,0 +1,18 @@
+package org.hypergraph_hash.utilities;
+
+import org.hypergraph_hash.CryptographicHash;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+
+/// Identifies a keyed hash (algorithm, length and key) for persisted state without storing the key
+public final class HashFingerprint {
+  private HashFingerprint() {}
+
+  private static final byte[] PROBE = "hypergraph-hash-fingerprint".getBytes(StandardCharsets.US_ASCII);
+
+  // Hashes are keyed, so the digest of a fixed probe identifies the key without storing it
+  public static String of(CryptographicHash hash) {
+    return hash.getAlgorithmName() + ':' + hash.getHashLength() + ':' + HexFormat.of().formatHex(hash.hash(PROBE));
+  }
+}
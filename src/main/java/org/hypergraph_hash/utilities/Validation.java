@@ -39,6 +39,12 @@ public class Validation {
     }
   }
 
+  public static void validateNonLess(int value, int limit, String name) {
+    if (value < limit) {
+      throw new IllegalArgumentException("Value of " + name + " must be non-less than " + limit + ". value: " + value);
+    }
+  }
+
   public static void validateNotNull(Object value, String name) {
     Objects.requireNonNull(value, name + " must not be null.");
   }
@@ -56,6 +62,13 @@ public class Validation {
     }
   }
 
+  public static void validateEquals(int value1, int value2, String name1, String name2) {
+    if (value1 != value2) {
+      throw new IllegalArgumentException(name1 + " must be equal to " + name2 + ". " +
+                                         "value1: " + value1 + ", value2: " + value2);
+    }
+  }
+
   public static <T extends Number> void validateNotZero(T value, String errorMessage) {
     boolean valid = switch (value) {
       case BigInteger bigInteger -> bigInteger.signum() != 0;
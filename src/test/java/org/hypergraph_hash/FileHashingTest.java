@@ -0,0 +1,55 @@
+package org.hypergraph_hash;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class FileHashingTest {
+  private static final Random random = new Random();
+
+  private static final int FILE_LENGTH = 1000;
+
+  @ParameterizedTest
+  @MethodSource("windowSizeProvider")
+  void multiWindowHashTest(long windowSize) throws IOException {
+    // SETUP
+    byte[] content = new byte[FILE_LENGTH];
+    random.nextBytes(content);
+
+    Path file = Files.createTempFile("hypergraph-hash", ".bin");
+    Files.write(file, content);
+
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+
+    // EXECUTION
+    byte[] hash;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      hash = FileHashing.hashMapped(hashAlg.newHasher(), channel, windowSize);
+    } finally {
+      Files.delete(file);
+    }
+
+    // ASSERTION
+    assertThat(hash).isEqualTo(hashAlg.hash(content));
+  }
+
+  // region Providers
+
+  // Window sizes below, at and around the 32-byte block, so blocks straddle window boundaries
+  static long[] windowSizeProvider() {
+    return new long[] {
+            1, 7, 31, 32, 33, 100, FILE_LENGTH - 1, FILE_LENGTH
+    };
+  }
+
+  // endregion
+}
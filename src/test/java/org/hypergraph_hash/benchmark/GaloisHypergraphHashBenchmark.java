@@ -0,0 +1,123 @@
+package org.hypergraph_hash.benchmark;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.hypergraph_hash.data.Key.KEY32;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GaloisHypergraphHashBenchmark {
+  private static final int BATCH_SIZE = 256;
+
+  @Param({"32", "4096"})
+  private int messageLength;
+
+  private GaloisHypergraphHash hashAlg;
+  private byte[] message;
+
+  private byte[][] batch;
+  private byte[][] digests;
+
+  private ExposedGaloisHypergraphHash compression;
+  private byte[] block;
+  private byte[] chainingValue;
+
+  @Setup
+  public void setup() {
+    hashAlg = new GaloisHypergraphHash(KEY32, 32);
+
+    Random random = new Random(0);
+
+    message = new byte[messageLength];
+    random.nextBytes(message);
+
+    batch = new byte[BATCH_SIZE][messageLength];
+    for (byte[] batchMessage : batch) {
+      random.nextBytes(batchMessage);
+    }
+    digests = new byte[BATCH_SIZE][];
+
+    compression = new ExposedGaloisHypergraphHash();
+
+    block = new byte[compression.getBlockSize()];
+    random.nextBytes(block);
+    chainingValue = new byte[compression.getBlockSize()];
+    random.nextBytes(chainingValue);
+  }
+
+  @Benchmark
+  public byte[] hash() {
+    return hashAlg.hash(message);
+  }
+
+  @Benchmark
+  public long hashToLong() {
+    return hashAlg.hashToLong(message, 0, message.length);
+  }
+
+  // Throughput of both batch benchmarks is in messages per second
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public byte[][] hashEach() {
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      digests[i] = hashAlg.hash(batch[i]);
+    }
+
+    return digests;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public byte[][] hashAll() {
+    hashAlg.hashAll(batch, digests);
+
+    return digests;
+  }
+
+  // One block per operation, the message length doesn't apply to the compression benchmarks
+
+  @Benchmark
+  public byte[] compressionFunction() {
+    return compression.compress(block, chainingValue);
+  }
+
+  // Block and chaining value are overwritten on every call; the cost of a block doesn't depend on its value
+  @Benchmark
+  public byte[] compressionFunctionInPlace() {
+    compression.compressInPlace(block, chainingValue);
+
+    return chainingValue;
+  }
+
+  public static void main(String[] args) throws RunnerException {
+    new Runner(new OptionsBuilder()
+            .include(GaloisHypergraphHashBenchmark.class.getSimpleName())
+            .build()).run();
+  }
+
+  private static final class ExposedGaloisHypergraphHash extends GaloisHypergraphHash {
+    ExposedGaloisHypergraphHash() {
+      super(KEY32, 32);
+    }
+
+    byte[] compress(byte[] inputBlock, byte[] prevHash) {
+      return compressionFunction(inputBlock, prevHash);
+    }
+
+    void compressInPlace(byte[] inputBlock, byte[] chainingValue) {
+      compressionFunctionInPlace(inputBlock, chainingValue);
+    }
+  }
+}
@@ -0,0 +1,234 @@
+package org.hypergraph_hash.hypergraph.transform;
+
+import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
+import org.hypergraph_hash.hypergraph.HyperEdge;
+import org.hypergraph_hash.hypergraph.transform.hash.GaloisHypergraphTransform;
+import org.hypergraph_hash.symmetric_encryption.SymmetricEncryption;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class CompiledTransformTest {
+  private static final Random random = new Random();
+
+  private static final int MESSAGES_COUNT = 200;
+
+  @ParameterizedTest
+  @MethodSource("keyProvider")
+  void galoisTransformTest(HomogenousHypergraph key) {
+    // SETUP
+    var transform = new GaloisHypergraphTransform(key);
+
+    // EXECUTION
+    BlockTransform compiled = transform.compile();
+
+    // ASSERTION
+    assertThat(compiled).isNotSameAs(transform).isNotInstanceOf(SymmetricEncryption.class);
+
+    for (int i = 0; i < MESSAGES_COUNT; i++) {
+      byte[] message = randomMessage(transform.getBlockSize());
+
+      assertThat(compiled.encryption(message)).isEqualTo(interpretedGalois(transform, message));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("smallBlockSizeProvider")
+  void encryptionTest(int smallBlockSize) {
+    // SETUP
+    var encryption = new HypergraphEncryption(KEY32, smallBlockSize);
+
+    // EXECUTION
+    SymmetricEncryption compiled = encryption.compile();
+
+    // ASSERTION
+    assertThat(compiled).isNotSameAs(encryption);
+
+    for (int i = 0; i < MESSAGES_COUNT; i++) {
+      byte[] message = randomMessage(encryption.getBlockSize());
+      byte[] encrypted = interpreted(encryption, message, IntUnaryOperator.identity());
+
+      assertThat(compiled.encryption(message)).isEqualTo(encrypted);
+      assertThat(compiled.decryption(encrypted))
+              .isEqualTo(interpreted(encryption, encrypted, reverseSelector(encryption)))
+              .isEqualTo(message);
+
+      ByteBuffer output = ByteBuffer.allocateDirect(message.length);
+      compiled.encryption(ByteBuffer.wrap(message), output);
+
+      byte[] buffered = new byte[message.length];
+      output.flip().get(buffered);
+      assertThat(buffered).isEqualTo(encrypted);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("splitTransformProvider")
+  void splitIntoPartsTest(HypergraphTransform transform) {
+    // EXECUTION
+    BlockOperation operation = transform.generate(transform::emitEncryption);
+
+    // ASSERTION
+    assertThat(partCount(operation)).isGreaterThan(1);
+
+    for (int i = 0; i < MESSAGES_COUNT; i++) {
+      byte[] message = randomMessage(transform.getBlockSize());
+
+      byte[] generated = message.clone();
+      operation.apply(generated, 0);
+
+      byte[] expected = transform instanceof GaloisHypergraphTransform
+              ? interpretedGalois(transform, message)
+              : interpreted(transform, message, IntUnaryOperator.identity());
+
+      assertThat(generated).isEqualTo(expected);
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("smallBlockSizeProvider")
+  void denseKeyScheduleTest(int smallBlockSize) {
+    // SETUP
+    // Dense enough for the XOR schedule of the key matrix to replace the vertex steps
+    var key = HomogenousHypergraph.ofEdges(
+            HyperEdge.of(0, 1, 2, 3),
+            HyperEdge.of(2, 4, 6, 8),
+            HyperEdge.of(1, 5, 9, 11),
+            HyperEdge.of(0, 7, 10, 11),
+            HyperEdge.of(3, 5, 8, 10)
+    );
+    var encryption = new HypergraphEncryption(key, smallBlockSize);
+
+    // EXECUTION
+    SymmetricEncryption steps = encryption.compile();
+
+    // ASSERTION
+    for (XorSchedule schedule : new XorSchedule[] {encryption.getEncryptionSchedule(), encryption.getDecryptionSchedule()}) {
+      assertThat(schedule).isNotNull();
+      assertThat(schedule.operationCount()).isLessThan(encryption.stepOperationCount());
+    }
+
+    for (int i = 0; i < MESSAGES_COUNT; i++) {
+      byte[] message = randomMessage(encryption.getBlockSize());
+      byte[] encrypted = encryption.encryption(message);
+
+      assertThat(encrypted)
+              .isEqualTo(steps.encryption(message))
+              .isEqualTo(interpreted(encryption, message, IntUnaryOperator.identity()));
+      assertThat(encryption.decryption(encrypted)).isEqualTo(message);
+    }
+  }
+
+  @Test
+  void sparseKeyStepsTest() {
+    // SETUP
+    var encryption = new HypergraphEncryption(KEY32, 16);
+
+    // EXECUTION & ASSERTION
+    // KEY32 composes into a dense matrix, so no schedule beats its vertex steps
+    assertThat(encryption.getEncryptionSchedule()).isNull();
+    assertThat(encryption.getDecryptionSchedule()).isNull();
+  }
+
+  @Test
+  void tooLargeFallbackTest() {
+    // SETUP
+    var column = new HypergraphEncryption(KEY32, 1);
+    var encryption = new HypergraphEncryption(KEY32, 4096);
+
+    // EXECUTION & ASSERTION
+    // One XOR column is one step: the single-byte transform fits a single part,
+    // so the 4096-byte one is ruled out by MAX_CODE_SIZE, not by an oversized step
+    assertThat(partCount(column.generate(column::emitEncryption))).isEqualTo(1);
+    assertThat(encryption.generate(encryption::emitEncryption)).isNull();
+    assertThat(encryption.compile()).isSameAs(encryption);
+  }
+
+
+  // region Providers
+
+  static Stream<HomogenousHypergraph> keyProvider() {
+    return Stream.of(
+            HomogenousHypergraph.ofEdges(
+                    HyperEdge.of(0, 3, 4),
+                    HyperEdge.of(2, 3, 4),
+                    HyperEdge.of(1, 2, 3),
+                    HyperEdge.of(0, 1, 5)
+            ),
+            HomogenousHypergraph.ofEdges(
+                    HyperEdge.of(0, 1, 2, 3),
+                    HyperEdge.of(2, 4, 6, 8),
+                    HyperEdge.of(1, 5, 9, 11),
+                    HyperEdge.of(0, 7, 10, 11),
+                    HyperEdge.of(3, 5, 8, 10)
+            ),
+            KEY32
+    );
+  }
+
+  static Stream<Integer> smallBlockSizeProvider() {
+    return Stream.of(1, 2, 8, 16, 100);
+  }
+
+  static Stream<HypergraphTransform> splitTransformProvider() {
+    return Stream.of(new GaloisHypergraphTransform(KEY32), new HypergraphEncryption(KEY32, 16));
+  }
+
+  // endregion
+
+  // region utilities
+
+  // The interpreted passes that GaloisHypergraphTransform runs as one compiled plan
+  private static byte[] interpretedGalois(HypergraphTransform transform, byte[] message) {
+    int verticesCount = transform.getBlockSize();
+
+    byte[] res = interpreted(transform, message, IntUnaryOperator.identity());
+    transform.transform(res, 0, i -> verticesCount - 1 - i);
+
+    return res;
+  }
+
+  private static byte[] interpreted(HypergraphTransform transform, byte[] message, IntUnaryOperator vertexSelector) {
+    byte[] res = message.clone();
+    transform.transform(res, 0, vertexSelector);
+
+    return res;
+  }
+
+  private static IntUnaryOperator reverseSelector(HypergraphTransform transform) {
+    int length = transform.hypergraphAdjacencyLists.length;
+
+    return i -> length - 1 - i;
+  }
+
+  private static long partCount(BlockOperation operation) {
+    return Arrays.stream(operation.getClass().getDeclaredMethods())
+            .map(Method::getName)
+            .filter(name -> name.startsWith("part"))
+            .count();
+  }
+
+  private static byte[] randomMessage(int length) {
+    byte[] message = new byte[length];
+    random.nextBytes(message);
+
+    // Exercise zero replacements
+    for (int i = 0; i < length; i += 5) {
+      message[i] = 0;
+    }
+
+    return message;
+  }
+
+  // endregion
+}
@@ -0,0 +1,68 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.sketch.BloomFilter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class BloomFilterTest {
+  private static final int KEYS_COUNT = 20_000;
+  private static final double FALSE_POSITIVE_RATE = 0.01;
+
+  private final GaloisHypergraphHash hashAlg = new GaloisHypergraphHash(KEY32, 32);
+
+  @Test
+  void concurrentPutTest() {
+    // SETUP
+    var filter = BloomFilter.forExpectedInsertions(hashAlg, KEYS_COUNT, FALSE_POSITIVE_RATE);
+
+    // EXECUTION
+    IntStream.range(0, KEYS_COUNT).parallel().forEach(i -> filter.put(key("key", i)));
+
+    // ASSERTION
+    long missing = IntStream.range(0, KEYS_COUNT)
+            .filter(i -> !filter.mightContain(key("key", i)))
+            .count();
+    long falsePositives = IntStream.range(0, KEYS_COUNT)
+            .filter(i -> filter.mightContain(key("other", i)))
+            .count();
+
+    assertThat(missing).isZero();
+    assertThat((double) falsePositives / KEYS_COUNT).isLessThan(2 * FALSE_POSITIVE_RATE);
+  }
+
+  @Test
+  void putReportsChangeTest() {
+    // SETUP
+    var filter = new BloomFilter(hashAlg, 1 << 16, 5);
+    byte[] key = key("key", 1);
+
+    // EXECUTION & ASSERTION
+    assertThat(filter.mightContain(key)).isFalse();
+    assertThat(filter.put(key)).isTrue();
+    assertThat(filter.put(key)).isFalse();
+    assertThat(filter.mightContain(key)).isTrue();
+  }
+
+  @Test
+  void shortDigestTest() {
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> new BloomFilter(new GaloisHypergraphHash(KEY32, 8), 1024, 3))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+
+  // region utilities
+
+  private static byte[] key(String prefix, int i) {
+    return (prefix + i).getBytes(StandardCharsets.UTF_8);
+  }
+
+  // endregion
+}
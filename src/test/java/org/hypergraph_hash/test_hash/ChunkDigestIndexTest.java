@@ -0,0 +1,156 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.cache.ChunkDigestIndex;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class ChunkDigestIndexTest {
+  private static final Random random = new Random();
+
+  private static final int FILE_LEN = 100_000;
+  private static final int CHUNK_SIZE = 4096;
+
+  private final GaloisHypergraphHash hashAlg = new GaloisHypergraphHash(KEY32, 32);
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void chunkDigestsTest() throws IOException {
+    // SETUP
+    byte[] content = randomContent(FILE_LEN);
+    Path file = Files.write(dir.resolve("file.bin"), content);
+
+    // EXECUTION
+    var index = ChunkDigestIndex.build(file, hashAlg, CHUNK_SIZE);
+
+    // ASSERTION
+    assertThat(index.getChunkCount()).isEqualTo(Math.ceilDiv(FILE_LEN, CHUNK_SIZE));
+
+    for (int i = 0; i < index.getChunkCount(); i++) {
+      int from = i * CHUNK_SIZE;
+      byte[] chunk = Arrays.copyOfRange(content, from, Math.min(from + CHUNK_SIZE, FILE_LEN));
+
+      assertThat(index.getChunkDigest(i)).isEqualTo(hashAlg.hash(chunk));
+    }
+  }
+
+  @Test
+  void dirtyRangeRefreshTest() throws IOException {
+    // SETUP
+    byte[] content = randomContent(FILE_LEN);
+    Path file = Files.write(dir.resolve("file.bin"), content);
+    Path indexFile = dir.resolve("file.bin.idx");
+
+    ChunkDigestIndex.build(file, hashAlg, CHUNK_SIZE).save(indexFile);
+
+    content[5 * CHUNK_SIZE + 10] ^= 1;
+    Files.write(file, content);
+
+    // EXECUTION
+    var index = ChunkDigestIndex.load(indexFile, hashAlg);
+
+    int[] untouched = index.refresh(file, 0, CHUNK_SIZE);
+    int[] changed = index.refresh(file, 5 * CHUNK_SIZE, 100);
+
+    // ASSERTION
+    assertThat(untouched).isEmpty();
+    assertThat(changed).containsExactly(5);
+    assertThat(index.fileDigest()).isEqualTo(ChunkDigestIndex.build(file, hashAlg, CHUNK_SIZE).fileDigest());
+  }
+
+  @Test
+  void fullRefreshTest() throws IOException {
+    // SETUP
+    byte[] content = randomContent(FILE_LEN);
+    Path file = Files.write(dir.resolve("file.bin"), content);
+
+    var index = ChunkDigestIndex.build(file, hashAlg, CHUNK_SIZE);
+
+    content[3] ^= 1;
+    content[20 * CHUNK_SIZE] ^= 1;
+    Files.write(file, content);
+
+    // EXECUTION
+    int[] changed = index.refresh(file);
+
+    // ASSERTION
+    assertThat(changed).containsExactly(0, 20);
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, CHUNK_SIZE, FILE_LEN / 2, FILE_LEN + 1, 2 * FILE_LEN})
+  void resizedFileTest(int newLength) throws IOException {
+    // SETUP
+    byte[] content = randomContent(FILE_LEN);
+    Path file = Files.write(dir.resolve("file.bin"), content);
+
+    var index = ChunkDigestIndex.build(file, hashAlg, CHUNK_SIZE);
+
+    byte[] resized = Arrays.copyOf(content, newLength);
+    Files.write(file, resized);
+
+    // EXECUTION
+    index.refresh(file, 0, 0);
+
+    // ASSERTION
+    assertThat(index.getFileSize()).isEqualTo(newLength);
+    assertThat(index.fileDigest()).isEqualTo(ChunkDigestIndex.build(file, hashAlg, CHUNK_SIZE).fileDigest());
+  }
+
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 2, 3})
+  void corruptedHeaderTest(int corruption) throws IOException {
+    // SETUP
+    Path file = Files.write(dir.resolve("file.bin"), randomContent(FILE_LEN));
+    Path indexFile = dir.resolve("file.bin.idx");
+
+    var index = ChunkDigestIndex.build(file, hashAlg, CHUNK_SIZE);
+    index.save(indexFile);
+
+    // chunkSize, fileSize and count end the header, right before the digests
+    ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(indexFile));
+    int countPos = bytes.capacity() - index.getChunkCount() * hashAlg.getHashLength() - Integer.BYTES;
+    int fileSizePos = countPos - Long.BYTES;
+    int chunkSizePos = fileSizePos - Integer.BYTES;
+
+    switch (corruption) {
+      case 0 -> bytes.putInt(chunkSizePos, 0);
+      case 1 -> bytes.putInt(chunkSizePos, -CHUNK_SIZE);
+      case 2 -> bytes.putLong(fileSizePos, -1);
+      default -> bytes.putInt(countPos, index.getChunkCount() + 1);
+    }
+
+    Files.write(indexFile, bytes.array());
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> ChunkDigestIndex.load(indexFile, hashAlg))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  // region utilities
+
+  private static byte[] randomContent(int length) {
+    byte[] content = new byte[length];
+    random.nextBytes(content);
+
+    return content;
+  }
+
+  // endregion
+}
@@ -0,0 +1,57 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.sketch.CountMinSketch;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class CountMinSketchTest {
+  private static final int KEYS_COUNT = 1000;
+  private static final int REPEATS = 40;
+
+  @Test
+  void concurrentAddTest() {
+    // SETUP
+    var sketch = new CountMinSketch(new GaloisHypergraphHash(KEY32, 32), 2000, 4);
+
+    // EXECUTION
+    IntStream.range(0, KEYS_COUNT * REPEATS).parallel()
+            .forEach(i -> sketch.add(key(i % KEYS_COUNT), 1));
+
+    // ASSERTION
+    double averageError = IntStream.range(0, KEYS_COUNT)
+            .mapToLong(i -> sketch.estimate(key(i)) - REPEATS)
+            .peek(error -> assertThat(error).isNotNegative())
+            .average()
+            .orElseThrow();
+
+    assertThat(averageError).isLessThan(REPEATS / 4.0);
+  }
+
+  @Test
+  void unseenKeyTest() {
+    // SETUP
+    var sketch = new CountMinSketch(new GaloisHypergraphHash(KEY32, 32), 1024, 3);
+
+    // EXECUTION
+    sketch.add(key(1), 5);
+
+    // ASSERTION
+    assertThat(sketch.estimate(key(1))).isEqualTo(5);
+    assertThat(sketch.estimate(key(2))).isZero();
+  }
+
+
+  // region utilities
+
+  private static byte[] key(int i) {
+    return ("key" + i).getBytes(StandardCharsets.UTF_8);
+  }
+
+  // endregion
+}
@@ -0,0 +1,141 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.dedup.DeduplicationPipeline;
+import org.hypergraph_hash.dedup.DeduplicationStats;
+import org.hypergraph_hash.dedup.FingerprintIndex;
+import org.hypergraph_hash.dedup.GearChunker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hypergraph_hash.data.Key.KEY32;
+import static org.hypergraph_hash.operations.BitOperations.concatByteArrays;
+
+class DeduplicationPipelineTest {
+  private static final Random random = new Random();
+
+  private static final int DATA_LEN = 300_000;
+
+  private final GaloisHypergraphHash hashAlg = new GaloisHypergraphHash(KEY32, 16);
+  private final GearChunker chunker = new GearChunker(1024, 4096, 16384, 1);
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void chunksReassembleTest() throws IOException {
+    // SETUP
+    byte[] data = new byte[DATA_LEN];
+    random.nextBytes(data);
+
+    Path file = Files.write(dir.resolve("data.bin"), data);
+    ByteArrayOutputStream reassembled = new ByteArrayOutputStream();
+
+    // EXECUTION & ASSERTION
+    try (var pipeline = new DeduplicationPipeline(hashAlg, chunker)) {
+      pipeline.process(file, (position, chunk, fingerprint, duplicate) -> {
+        byte[] bytes = new byte[chunk.remaining()];
+        chunk.get(bytes);
+
+        assertThat(position).isEqualTo(reassembled.size());
+        assertThat(bytes.length).isLessThanOrEqualTo(chunker.getMaxSize());
+        assertThat(fingerprint).isEqualTo(hashAlg.hash(bytes));
+
+        reassembled.writeBytes(bytes);
+      });
+    }
+
+    assertThat(reassembled.toByteArray()).isEqualTo(data);
+  }
+
+  @Test
+  void shiftedDuplicateTest() throws IOException {
+    // SETUP
+    byte[] data = new byte[DATA_LEN];
+    random.nextBytes(data);
+
+    byte[] shifted = concatByteArrays(data, concatByteArrays(new byte[] {1, 2, 3}, data));
+    Path file = Files.write(dir.resolve("data.bin"), shifted);
+
+    // EXECUTION
+    long duplicateBytes;
+    try (var pipeline = new DeduplicationPipeline(hashAlg, chunker)) {
+      duplicateBytes = pipeline.process(file, (position, chunk, fingerprint, duplicate) -> {}).getDuplicateBytes();
+    }
+
+    // ASSERTION
+    assertThat(duplicateBytes).isGreaterThan(DATA_LEN * 9L / 10);
+  }
+
+  @Test
+  void fingerprintIndexTest() {
+    // SETUP
+    byte[][] fingerprints = new byte[10_000][16];
+    for (byte[] fingerprint : fingerprints) {
+      random.nextBytes(fingerprint);
+    }
+
+    // EXECUTION & ASSERTION
+    try (var index = new FingerprintIndex(16)) {
+      for (byte[] fingerprint : fingerprints) {
+        assertThat(index.add(fingerprint)).isTrue();
+      }
+
+      for (byte[] fingerprint : fingerprints) {
+        assertThat(index.contains(fingerprint)).isTrue();
+        assertThat(index.add(fingerprint)).isFalse();
+      }
+
+      assertThat(index.size()).isEqualTo(fingerprints.length);
+    }
+  }
+
+  @Test
+  void perCallStatsTest() throws IOException {
+    // SETUP
+    byte[] data = new byte[DATA_LEN];
+    random.nextBytes(data);
+
+    Path file = Files.write(dir.resolve("data.bin"), data);
+
+    // EXECUTION
+    DeduplicationStats first;
+    DeduplicationStats second;
+    DeduplicationStats totals;
+    try (var pipeline = new DeduplicationPipeline(hashAlg, chunker)) {
+      first = pipeline.process(file, (position, chunk, fingerprint, duplicate) -> {});
+      second = pipeline.process(file, (position, chunk, fingerprint, duplicate) -> {});
+      totals = pipeline.getStats();
+    }
+
+    // ASSERTION
+    assertThat(first.getTotalBytes()).isEqualTo(DATA_LEN);
+    assertThat(second.getTotalBytes()).isEqualTo(DATA_LEN);
+
+    // The index outlives a call, so the second pass finds every chunk
+    assertThat(second.getDuplicateBytes()).isEqualTo(DATA_LEN);
+    assertThat(totals.getTotalBytes()).isEqualTo(2L * DATA_LEN);
+    assertThat(totals.getChunkCount()).isEqualTo(first.getChunkCount() + second.getChunkCount());
+  }
+
+  @Test
+  void closedIndexTest() {
+    // SETUP
+    var index = new FingerprintIndex(16);
+    index.close();
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> index.add(new byte[16]))
+            .isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> index.contains(new byte[16]))
+            .isInstanceOf(IllegalStateException.class);
+  }
+}
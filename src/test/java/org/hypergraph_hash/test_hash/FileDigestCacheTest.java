@@ -0,0 +1,229 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.cache.FileDigestCache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class FileDigestCacheTest {
+  private static final Random random = new Random();
+
+  private static final int FILE_LEN = 10_000;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void persistedDigestTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Path cacheFile = dir.resolve("digests.log");
+
+    Path file = createFile("file.bin");
+    byte[] expected = hashAlg.hashFile(file);
+
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, 100)) {
+      cache.digest(file);
+    }
+
+    // Same size and mtime, different bytes: a cache hit must not read the file
+    FileTime modified = Files.getLastModifiedTime(file);
+    Files.write(file, new byte[FILE_LEN]);
+    Files.setLastModifiedTime(file, modified);
+
+    // EXECUTION
+    byte[] digest;
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, 100)) {
+      digest = cache.digest(file);
+    }
+
+    // ASSERTION
+    assertThat(digest).isEqualTo(expected);
+  }
+
+  @Test
+  void changedFileTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Path file = createFile("file.bin");
+
+    try (var cache = new FileDigestCache(dir.resolve("digests.log"), hashAlg, 100)) {
+      cache.digest(file);
+
+      Files.write(file, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+      // EXECUTION
+      byte[] digest = cache.digest(file);
+
+      // ASSERTION
+      assertThat(digest).isEqualTo(hashAlg.hashFile(file));
+    }
+  }
+
+  @Test
+  void otherKeyTest() throws IOException {
+    // SETUP
+    Path cacheFile = dir.resolve("digests.log");
+    Path file = createFile("file.bin");
+
+    try (var cache = new FileDigestCache(cacheFile, new GaloisHypergraphHash(KEY32, 32), 100)) {
+      cache.digest(file);
+    }
+
+    var otherHash = new GaloisHypergraphHash(KEY32, 16);
+
+    // EXECUTION
+    byte[] digest;
+    try (var cache = new FileDigestCache(cacheFile, otherHash, 100)) {
+      digest = cache.digest(file);
+    }
+
+    // ASSERTION
+    assertThat(digest).isEqualTo(otherHash.hashFile(file));
+  }
+
+  @Test
+  void evictionAndCompactionTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Path cacheFile = dir.resolve("digests.log");
+    int maxEntries = 5;
+
+    // EXECUTION
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, maxEntries)) {
+      for (int i = 0; i < 4 * maxEntries; i++) {
+        cache.digest(createFile("file" + i + ".bin"));
+      }
+
+      // ASSERTION
+      assertThat(cache.size()).isEqualTo(maxEntries);
+    }
+
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, maxEntries)) {
+      assertThat(cache.size()).isEqualTo(maxEntries);
+    }
+  }
+
+  @Test
+  void persistedRecencyTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Path cacheFile = dir.resolve("digests.log");
+
+    Path file1 = createFile("file1.bin");
+    Path file2 = createFile("file2.bin");
+    byte[] expected = hashAlg.hashFile(file1);
+
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, 2)) {
+      cache.digest(file1);
+      cache.digest(file2);
+      cache.digest(file1);
+    }
+
+    // EXECUTION
+    byte[] digest;
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, 2)) {
+      // Evicts file2, the least recently used entry before the restart
+      cache.digest(createFile("file3.bin"));
+
+      FileTime modified = Files.getLastModifiedTime(file1);
+      Files.write(file1, new byte[FILE_LEN]);
+      Files.setLastModifiedTime(file1, modified);
+
+      digest = cache.digest(file1);
+    }
+
+    // ASSERTION
+    assertThat(digest).isEqualTo(expected);
+  }
+
+  @Test
+  void hitsDoNotAppendTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Path cacheFile = dir.resolve("digests.log");
+    Path file = createFile("file.bin");
+
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, 100)) {
+      cache.digest(file);
+      cache.flush();
+
+      long logSize = Files.size(cacheFile);
+
+      // EXECUTION
+      for (int i = 0; i < 10; i++) {
+        cache.digest(file);
+      }
+      cache.flush();
+
+      // ASSERTION
+      assertThat(Files.size(cacheFile)).isEqualTo(logSize);
+    }
+  }
+
+  @Test
+  void foreignFileTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Path cacheFile = dir.resolve("digests.log");
+
+    byte[] content = "not a digest cache".getBytes(StandardCharsets.US_ASCII);
+    Files.write(cacheFile, content);
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> new FileDigestCache(cacheFile, hashAlg, 100))
+            .isInstanceOf(IllegalArgumentException.class);
+
+    assertThat(Files.readAllBytes(cacheFile)).isEqualTo(content);
+  }
+
+  @Test
+  void tornWriteTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Path cacheFile = dir.resolve("digests.log");
+
+    Path file1 = createFile("file1.bin");
+    Path file2 = createFile("file2.bin");
+
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, 100)) {
+      cache.digest(file1);
+      cache.digest(file2);
+    }
+
+    byte[] log = Files.readAllBytes(cacheFile);
+    Files.write(cacheFile, Arrays.copyOf(log, log.length - 5));
+
+    // EXECUTION & ASSERTION
+    try (var cache = new FileDigestCache(cacheFile, hashAlg, 100)) {
+      assertThat(cache.size()).isEqualTo(1);
+      assertThat(cache.digest(file2)).isEqualTo(hashAlg.hashFile(file2));
+      assertThat(cache.size()).isEqualTo(2);
+    }
+  }
+
+
+  // region utilities
+
+  private Path createFile(String name) throws IOException {
+    byte[] content = new byte[FILE_LEN];
+    random.nextBytes(content);
+
+    return Files.write(dir.resolve(name), content);
+  }
+
+  // endregion
+}
@@ -10,6 +10,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -78,6 +79,70 @@ class GaloisHypergraphHashTest {
             .containsOnly((byte) 0);
   }
 
+  @Test
+  void hashAllTest() {
+    // SETUP
+    byte[][] messages = messageProvider()
+            .limit(1000)
+            .map(arguments -> (byte[]) arguments.get()[0])
+            .toArray(byte[][]::new);
+    messages[0] = new byte[0];
+
+    byte[][] hashes = new byte[messages.length][];
+
+    // EXECUTION
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    hashAlg.hashAll(messages, hashes);
+
+    // ASSERTION
+    for (int i = 0; i < messages.length; i++) {
+      assertThat(hashes[i]).isEqualTo(hashAlg.hash(messages[i]));
+    }
+  }
+
+  @Test
+  void hashToLongTest() {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    long[] hash128 = new long[2];
+
+    for (int length = 0; length < 200; length++) {
+      byte[] message = new byte[length + 10];
+      random.nextBytes(message);
+
+      // EXECUTION
+      long hash64 = hashAlg.hashToLong(message, 5, length);
+      hashAlg.hashTo128(message, 5, length, hash128);
+
+      // ASSERTION
+      ByteBuffer expected = ByteBuffer.wrap(hashAlg.hash(Arrays.copyOfRange(message, 5, 5 + length)));
+
+      assertThat(hash64).isEqualTo(expected.getLong(0));
+      assertThat(hash128).containsExactly(expected.getLong(0), expected.getLong(Long.BYTES));
+    }
+  }
+
+  @Test
+  void goldenDigestTest() {
+    // SETUP
+    List<Arguments> golden = goldenDigestProvider().toList();
+
+    byte[][] messages = golden.stream().map(arguments -> (byte[]) arguments.get()[0]).toArray(byte[][]::new);
+    byte[][] hashes = new byte[messages.length][];
+
+    // EXECUTION
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    hashAlg.hashAll(messages, hashes);
+
+    // ASSERTION
+    for (int i = 0; i < messages.length; i++) {
+      String expected = (String) golden.get(i).get()[1];
+
+      assertThat(HexFormat.of().formatHex(hashAlg.hash(messages[i]))).isEqualTo(expected);
+      assertThat(HexFormat.of().formatHex(hashes[i])).isEqualTo(expected);
+    }
+  }
+
   @ParameterizedTest
   @MethodSource("messageProvider")
   void distributionTest(byte[] message) {
@@ -181,11 +246,38 @@ class GaloisHypergraphHashTest {
             .limit(MESSAGES_COUNT);
   }
 
+  // Digests of the original interpreted implementation; byte i of a message is (byte) (i * 7 + 3)
+  static Stream<Arguments> goldenDigestProvider() {
+    return Stream.of(
+            Arguments.of(goldenMessage(1), "418a55d9f0ca96f9369f796b5b33c46df5c1a04a888ded4ad573ab821ccc153e"),
+            Arguments.of(goldenMessage(3), "4a1f87651b5e2c6baf9605b8d822dc1b806657fc8443973cce90b04db854ef2c"),
+            Arguments.of(goldenMessage(23), "3ccbee03b3eff8e9af9ca0c7a4ff63855ce59109325924793b096611bfaff49a"),
+            Arguments.of(goldenMessage(24), "8920857b829fa6cbf7effe1ebacc038982079dd7776eb99049baad941a0b72b5"),
+            Arguments.of(goldenMessage(31), "2165abb0e92dc3d54a4873a82c2c6aa79d63b1b479676565379c977c60cb5c85"),
+            Arguments.of(goldenMessage(32), "272aaf2595c0cad8f8ceb0e9cc89f7fa6b8c73127a4bf76c4f22f521f6151b46"),
+            Arguments.of(goldenMessage(33), "08e153a69176b072b438a1c11a0fd36fde26fb9c7c917f07af2cd4a6d5983cea"),
+            Arguments.of(goldenMessage(64), "688d9b0455beb08aa4c1ed0a4e528a9f173a24da829b93d204d92a4375acc6eb"),
+            Arguments.of(goldenMessage(100), "3e6727b8ee57b7366fb8d96db0f7d7ddc142cae01a6ca5598be771ea21cc0249"),
+            Arguments.of(goldenMessage(1000), "3fe996fc8c55234bab2c83abbb716b9e6343ce8f6bf4cabdfd6d5484f27d40b0"),
+            Arguments.of(new byte[100], "f3f68b0573a6c1214ae10e87c45861de8aa7ea2b044572629f8b8cff3a2713a9")
+    );
+  }
+
   // endregion
 
 
   // region utilities
 
+  private static byte[] goldenMessage(int length) {
+    byte[] message = new byte[length];
+
+    for (int i = 0; i < length; i++) {
+      message[i] = (byte) (i * 7 + 3);
+    }
+
+    return message;
+  }
+
   private static String bytesToHex(byte[] bytes) {
     StringBuilder hexString = new StringBuilder(2 * bytes.length);
 
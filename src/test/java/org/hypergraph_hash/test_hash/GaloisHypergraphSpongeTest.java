@@ -0,0 +1,115 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphSponge;
+import org.hypergraph_hash.SpongeHasher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class GaloisHypergraphSpongeTest {
+  private static final Random random = new Random();
+
+  private static final int MAX_MESSAGE_LEN = 1000;
+  private static final int MESSAGES_COUNT = 100;
+
+  private static final int MAX_CHUNK_LEN = 50;
+
+  private static final int HASH_LENGTH = 32;
+
+  @ParameterizedTest
+  @MethodSource("messageRateProvider")
+  void chunkedUpdateTest(byte[] message, int rate) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphSponge(KEY32, rate, HASH_LENGTH);
+    SpongeHasher hasher = hashAlg.newHasher();
+
+    // EXECUTION
+    for (int offset = 0; offset < message.length; ) {
+      int length = Math.min(random.nextInt(MAX_CHUNK_LEN + 1), message.length - offset);
+
+      hasher.update(message, offset, length);
+      offset += length;
+    }
+
+    // ASSERTION
+    assertThat(hasher.digest())
+            .hasSize(HASH_LENGTH)
+            .isEqualTo(hashAlg.hash(message));
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageRateProvider")
+  void extendableOutputTest(byte[] message, int rate) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphSponge(KEY32, rate, HASH_LENGTH);
+    int outputLength = 1000;
+
+    SpongeHasher hasher = hashAlg.newHasher();
+    hasher.update(message);
+
+    // EXECUTION
+    byte[] output = new byte[outputLength];
+    for (int offset = 0; offset < outputLength; ) {
+      int length = Math.min(random.nextInt(MAX_CHUNK_LEN + 1), outputLength - offset);
+
+      hasher.squeeze(output, offset, length);
+      offset += length;
+    }
+
+    // ASSERTION
+    assertThat(output).isEqualTo(hashAlg.hash(message, outputLength));
+    assertThat(Arrays.copyOf(output, HASH_LENGTH)).isEqualTo(hashAlg.hash(message));
+  }
+
+  @Test
+  void absorbAfterSqueezeTest() {
+    // SETUP
+    SpongeHasher hasher = new GaloisHypergraphSponge(KEY32, 16, HASH_LENGTH).newHasher();
+    hasher.update(new byte[] {1, 2, 3});
+
+    // EXECUTION
+    hasher.squeeze(10);
+
+    // ASSERTION
+    assertThatThrownBy(() -> hasher.update(new byte[] {4}))
+            .isInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void invalidRateTest() {
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> new GaloisHypergraphSponge(KEY32, 0, HASH_LENGTH))
+            .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new GaloisHypergraphSponge(KEY32, KEY32.getVerticesCount(), HASH_LENGTH))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+
+  // region Providers
+
+  static Stream<Arguments> messageRateProvider() {
+    return Stream.generate(() -> {
+              byte[] message = new byte[random.nextInt(MAX_MESSAGE_LEN)];
+              random.nextBytes(message);
+
+              return message;
+            })
+            .limit(MESSAGES_COUNT)
+            .flatMap(message -> Stream.of(
+                    Arguments.of(message, 1),
+                    Arguments.of(message, 16),
+                    Arguments.of(message, 31)
+            ));
+  }
+
+  // endregion
+}
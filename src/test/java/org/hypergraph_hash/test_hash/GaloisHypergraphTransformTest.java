@@ -8,8 +8,11 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.Random;
+import java.util.function.IntUnaryOperator;
 import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -26,6 +29,8 @@ class GaloisHypergraphTransformTest {
   private static final int MESSAGE_LEN = 32;
   private static final int MESSAGES_COUNT = 1000;
 
+  private static final int MAX_LANES = 16;
+
   @Test
   void test() {
     // SETUP
@@ -154,6 +159,118 @@ class GaloisHypergraphTransformTest {
     assertThat(bic).isLessThan(0.4);
   }
 
+  @ParameterizedTest
+  @MethodSource("keyProvider")
+  void compiledPlanTest(HomogenousHypergraph key) {
+    // SETUP
+    var transform = new ReferenceTransform(key);
+    int blockSize = transform.getBlockSize();
+
+    for (int i = 0; i < MESSAGES_COUNT; i++) {
+      byte[] block = new byte[blockSize];
+      random.nextBytes(block);
+
+      // Zero bytes take the zero replacement path
+      for (int j = 0; j < blockSize; j += 1 + i % 4) {
+        block[j] = 0;
+      }
+
+      // EXECUTION
+      byte[] compiled = transform.encryption(block);
+      byte[] reference = transform.referenceEncryption(block);
+
+      // ASSERTION
+      assertThat(compiled).isEqualTo(reference);
+    }
+  }
+
+  @Test
+  void goldenTransformTest() {
+    // EXECUTION
+    byte[] encrypted = new GaloisHypergraphTransform(KEY32).encryption(new byte[MESSAGE_LEN]);
+
+    // ASSERTION
+    // Output of the original interpreted implementation
+    assertThat(HexFormat.of().formatHex(encrypted))
+            .isEqualTo("67c0251436cd3798518a34a8f008ec4d6879d020af343620b239424d9997d9ae");
+  }
+
+  @ParameterizedTest
+  @MethodSource("keyProvider")
+  void uniformBlockTest(HomogenousHypergraph key) {
+    // SETUP
+    var transform = new ReferenceTransform(key);
+    byte[] block = new byte[transform.getBlockSize()];
+
+    // Every byte value, zero included, goes through the log tables at every position
+    for (int value = 0; value < 256; value++) {
+      Arrays.fill(block, (byte) value);
+
+      // EXECUTION & ASSERTION
+      assertThat(transform.encryption(block)).isEqualTo(transform.referenceEncryption(block));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("laneCountProvider")
+  void encryptLanesTest(int laneCount) {
+    // SETUP
+    var transform = new ReferenceTransform(KEY32);
+
+    byte[][] blocks = new byte[laneCount][MESSAGE_LEN];
+    for (byte[] block : blocks) {
+      random.nextBytes(block);
+
+      // Zero bytes take the zero replacement path
+      for (int i = 0; i < MESSAGE_LEN; i += 3) {
+        block[i] = 0;
+      }
+    }
+    blocks[0] = new byte[MESSAGE_LEN];
+
+    byte[] lanes = interleave(blocks);
+
+    // EXECUTION
+    transform.encryptLanes(lanes, laneCount);
+
+    // ASSERTION
+    for (int lane = 0; lane < laneCount; lane++) {
+      assertThat(laneOf(lanes, laneCount, lane))
+              .isEqualTo(transform.blockEncryption(blocks[lane]))
+              .isEqualTo(transform.referenceEncryption(blocks[lane]));
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("keyProvider")
+  void encryptLanesKeyTest(HomogenousHypergraph key) {
+    // SETUP
+    var transform = new ReferenceTransform(key);
+    int blockSize = transform.getBlockSize();
+
+    byte[][] blocks = new byte[MAX_LANES][blockSize];
+    for (int lane = 0; lane < MAX_LANES; lane++) {
+      random.nextBytes(blocks[lane]);
+
+      // From a single zero byte per lane up to all zero bytes
+      for (int i = lane % blockSize; i < blockSize; i += 1 + lane) {
+        blocks[lane][i] = 0;
+      }
+    }
+    blocks[0] = new byte[blockSize];
+
+    byte[] lanes = interleave(blocks);
+
+    // EXECUTION
+    transform.encryptLanes(lanes, MAX_LANES);
+
+    // ASSERTION
+    for (int lane = 0; lane < MAX_LANES; lane++) {
+      assertThat(laneOf(lanes, MAX_LANES, lane))
+              .isEqualTo(transform.blockEncryption(blocks[lane]))
+              .isEqualTo(transform.referenceEncryption(blocks[lane]));
+    }
+  }
 
   // region Providers
 
@@ -167,10 +284,97 @@ class GaloisHypergraphTransformTest {
             .limit(MESSAGES_COUNT);
   }
 
+  static Stream<HomogenousHypergraph> keyProvider() {
+    var randomKeyEdges = new ArrayList<HyperEdge>();
+    var keyRandom = new Random(20);
+
+    for (int vertex = 0; vertex < 64; vertex++) {
+      int second = (vertex + 1 + keyRandom.nextInt(62)) % 64;
+      int third;
+      do {
+        third = keyRandom.nextInt(64);
+      } while (third == vertex || third == second);
+
+      randomKeyEdges.add(HyperEdge.of(vertex, second, third));
+    }
+
+    return Stream.of(
+            HomogenousHypergraph.ofEdges(
+                    HyperEdge.of(0, 3, 4),
+                    HyperEdge.of(2, 3, 4),
+                    HyperEdge.of(1, 2, 3),
+                    HyperEdge.of(0, 1, 5)
+            ),
+            HomogenousHypergraph.ofEdges(
+                    HyperEdge.of(0, 1, 2, 3),
+                    HyperEdge.of(2, 4, 6, 8),
+                    HyperEdge.of(1, 5, 9, 11),
+                    HyperEdge.of(0, 7, 10, 11),
+                    HyperEdge.of(3, 5, 8, 10)
+            ),
+            KEY32,
+            HomogenousHypergraph.ofEdges(randomKeyEdges)
+    );
+  }
+
+  static Stream<Integer> laneCountProvider() {
+    return Stream.iterate(1, laneCount -> laneCount <= MAX_LANES, laneCount -> laneCount + 1);
+  }
+
   // endregion
 
   // region utilities
 
+  // Exposes the interpreted passes that the compiled plan replaces
+  private static final class ReferenceTransform extends GaloisHypergraphTransform {
+    private final int verticesCount;
+
+    ReferenceTransform(HomogenousHypergraph key) {
+      super(key);
+
+      verticesCount = key.getVerticesCount();
+    }
+
+    byte[] referenceEncryption(byte[] text) {
+      byte[] res = text.clone();
+
+      transform(res, 0, IntUnaryOperator.identity());
+      transform(res, 0, i -> verticesCount - 1 - i);
+
+      return res;
+    }
+
+    byte[] blockEncryption(byte[] text) {
+      byte[] res = text.clone();
+      encryptBlock(res, 0);
+
+      return res;
+    }
+  }
+
+  private static byte[] interleave(byte[][] blocks) {
+    int laneCount = blocks.length;
+    int blockSize = blocks[0].length;
+
+    byte[] lanes = new byte[blockSize * laneCount];
+    for (int lane = 0; lane < laneCount; lane++) {
+      for (int i = 0; i < blockSize; i++) {
+        lanes[i * laneCount + lane] = blocks[lane][i];
+      }
+    }
+
+    return lanes;
+  }
+
+  private static byte[] laneOf(byte[] lanes, int laneCount, int lane) {
+    byte[] block = new byte[lanes.length / laneCount];
+    for (int i = 0; i < block.length; i++) {
+      block[i] = lanes[i * laneCount + lane];
+    }
+
+    return block;
+  }
+
   private static double getBIC(int bitLen, int[] changedCount, int[][] jointCount) {
     double bic = 0;
 
@@ -0,0 +1,100 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphTreeHash;
+import org.hypergraph_hash.Hasher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class GaloisHypergraphTreeHashTest {
+  private static final Random random = new Random();
+
+  private static final int MAX_MESSAGE_LEN = 5000;
+  private static final int MESSAGES_COUNT = 100;
+
+  private static final int HASH_LENGTH = 32;
+
+  @ParameterizedTest
+  @MethodSource("messageTreeProvider")
+  void chunkedUpdateTest(byte[] message, int chunkSize, int arity) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphTreeHash(KEY32, HASH_LENGTH, chunkSize, arity);
+    Hasher hasher = hashAlg.newHasher();
+
+    // EXECUTION
+    for (int offset = 0; offset < message.length; ) {
+      int length = Math.min(random.nextInt(3 * chunkSize), message.length - offset);
+
+      hasher.update(message, offset, length);
+      offset += length;
+    }
+
+    // ASSERTION
+    assertThat(hasher.digest()).isEqualTo(hashAlg.hash(message));
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageTreeProvider")
+  void combineLeafDigestsTest(byte[] message, int chunkSize, int arity) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphTreeHash(KEY32, HASH_LENGTH, chunkSize, arity);
+
+    // EXECUTION
+    List<byte[]> leafDigests = new ArrayList<>();
+    for (int offset = 0; offset < message.length; offset += chunkSize) {
+      var worker = new GaloisHypergraphTreeHash(KEY32, HASH_LENGTH, chunkSize, arity);
+
+      leafDigests.add(worker.leafDigest(message, offset, Math.min(chunkSize, message.length - offset)));
+    }
+
+    // ASSERTION
+    assertThat(hashAlg.combine(leafDigests)).isEqualTo(hashAlg.hash(message));
+  }
+
+  @Test
+  void treeShapeTest() {
+    // SETUP
+    byte[] message = new byte[1000];
+    random.nextBytes(message);
+
+    // EXECUTION
+    byte[] binary = new GaloisHypergraphTreeHash(KEY32, HASH_LENGTH, 64, 2).hash(message);
+    byte[] quaternary = new GaloisHypergraphTreeHash(KEY32, HASH_LENGTH, 64, 4).hash(message);
+    byte[] largeChunks = new GaloisHypergraphTreeHash(KEY32, HASH_LENGTH, 128, 2).hash(message);
+
+    // ASSERTION
+    assertThat(binary)
+            .hasSize(HASH_LENGTH)
+            .isNotEqualTo(quaternary)
+            .isNotEqualTo(largeChunks);
+  }
+
+
+  // region Providers
+
+  static Stream<Arguments> messageTreeProvider() {
+    return Stream.generate(() -> {
+              byte[] message = new byte[random.nextInt(MAX_MESSAGE_LEN)];
+              random.nextBytes(message);
+
+              return message;
+            })
+            .limit(MESSAGES_COUNT)
+            .flatMap(message -> Stream.of(
+                    Arguments.of(message, 64, 2),
+                    Arguments.of(message, 100, 3),
+                    Arguments.of(message, 1024, 8)
+            ));
+  }
+
+  // endregion
+}
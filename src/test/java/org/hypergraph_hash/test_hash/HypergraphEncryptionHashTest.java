@@ -0,0 +1,184 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.Hasher;
+import org.hypergraph_hash.HypergraphEncryptionHash;
+import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hypergraph_hash.data.Key.KEY32;
+import static org.hypergraph_hash.operations.BitOperations.bitChanging;
+import static org.hypergraph_hash.operations.BitOperations.differentBitsCount;
+import static org.hypergraph_hash.operations.BitOperations.xor;
+
+class HypergraphEncryptionHashTest {
+  private static final Random random = new Random();
+
+  private static final int MAX_MESSAGE_LEN = 5000;
+  private static final int MESSAGES_COUNT = 100;
+
+  private static final int MAX_CHUNK_LEN = 300;
+
+  private static final int HASH_LENGTH = 32;
+
+  private static final long AVALANCHE_SEED = 0x5EEDL;
+  // Changed bits of a random hash are binomial, samples more than 6 standard deviations below half are outliers
+  private static final double OUTLIER_STANDARD_DEVIATIONS = 6;
+
+  @ParameterizedTest
+  @MethodSource("messageBlockSizeProvider")
+  void stabilityTest(byte[] message, int smallBlockSize) {
+    // SETUP
+    var hashAlg = new HypergraphEncryptionHash(KEY32, smallBlockSize, HASH_LENGTH);
+    var hashAlg2 = new HypergraphEncryptionHash(KEY32, smallBlockSize, HASH_LENGTH);
+
+    // EXECUTION
+    var hash = hashAlg.hash(message);
+    var repeatedHash = hashAlg.hash(message);
+    var hash2 = hashAlg2.hash(message);
+
+    // ASSERTION
+    assertThat(hash)
+            .hasSize(HASH_LENGTH)
+            .isEqualTo(repeatedHash)
+            .isEqualTo(hash2);
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageBlockSizeProvider")
+  void chunkedUpdateTest(byte[] message, int smallBlockSize) {
+    // SETUP
+    var hashAlg = new HypergraphEncryptionHash(KEY32, smallBlockSize, HASH_LENGTH);
+    Hasher hasher = hashAlg.newHasher();
+
+    // EXECUTION
+    for (int offset = 0; offset < message.length; ) {
+      int length = Math.min(random.nextInt(MAX_CHUNK_LEN + 1), message.length - offset);
+
+      hasher.update(message, offset, length);
+      offset += length;
+    }
+
+    // ASSERTION
+    byte[] expected = hashAlg.hash(message);
+
+    assertThat(hasher.digest()).isEqualTo(expected);
+    assertThat(hashAlg.hashToLong(message, 0, message.length))
+            .isEqualTo(ByteBuffer.wrap(expected).getLong());
+  }
+
+  @ParameterizedTest
+  @MethodSource("blockSizeProvider")
+  void chainingValueKeyedCompressionTest(int smallBlockSize) {
+    // SETUP
+    var hashAlg = new ExposedHypergraphEncryptionHash(KEY32, smallBlockSize, HASH_LENGTH);
+    int blockSize = hashAlg.getBlockSize();
+
+    byte[] x = randomBytes(blockSize);
+    byte[] prevHash1 = randomBytes(blockSize);
+    byte[] prevHash2 = randomBytes(blockSize);
+
+    // EXECUTION
+    // Same m ^ H for both chaining values
+    byte[] compressed1 = hashAlg.compress(xor(x, prevHash1), prevHash1);
+    byte[] compressed2 = hashAlg.compress(xor(x, prevHash2), prevHash2);
+
+    byte[] inputBlock = xor(x, prevHash1);
+    byte[] chainingValue = prevHash1.clone();
+    hashAlg.compressInPlace(inputBlock, chainingValue);
+
+    // ASSERTION
+    assertThat(compressed1).isNotEqualTo(compressed2);
+    assertThat(chainingValue).isEqualTo(compressed1);
+  }
+
+  @Test
+  void avalancheEffectTest() {
+    // SETUP
+    var seededRandom = new Random(AVALANCHE_SEED);
+
+    byte[] message = new byte[64];
+    seededRandom.nextBytes(message);
+
+    var hashAlg = new HypergraphEncryptionHash(KEY32, 4, HASH_LENGTH);
+    var hash = hashAlg.hash(message);
+
+    int hashBits = hash.length * 8;
+    double outlierPercent = 50 - OUTLIER_STANDARD_DEVIATIONS * Math.sqrt(hashBits) / 2 / hashBits * 100;
+
+    // EXECUTION
+    double hashPercentSum = 0;
+    int criticalOutlierCount = 0;
+
+    for (int i = 0; i < message.length * 8; i++) {
+      int differentBits = differentBitsCount(hash, hashAlg.hash(bitChanging(message, i)));
+      double percent = (double) differentBits / (hash.length * 8) * 100;
+
+      if (percent < outlierPercent) {
+        criticalOutlierCount++;
+      }
+
+      hashPercentSum += percent;
+    }
+
+    // ASSERTION
+    double averagePercent = hashPercentSum / (message.length * 8);
+
+    assertThat(averagePercent).isBetween(48.0, 52.0);
+    assertThat(criticalOutlierCount).isZero();
+  }
+
+  // region Providers
+
+  static Stream<Arguments> messageBlockSizeProvider() {
+    return Stream.generate(() -> {
+              byte[] message = new byte[random.nextInt(MAX_MESSAGE_LEN) + 1];
+              random.nextBytes(message);
+
+              return message;
+            })
+            .limit(MESSAGES_COUNT)
+            .flatMap(message -> Stream.of(
+                    Arguments.of(message, 1),
+                    Arguments.of(message, 16)
+            ));
+  }
+
+  static Stream<Arguments> blockSizeProvider() {
+    return Stream.of(Arguments.of(1), Arguments.of(16));
+  }
+
+  // endregion
+
+  // region utilities
+
+  private static byte[] randomBytes(int length) {
+    byte[] bytes = new byte[length];
+    random.nextBytes(bytes);
+
+    return bytes;
+  }
+
+  private static final class ExposedHypergraphEncryptionHash extends HypergraphEncryptionHash {
+    ExposedHypergraphEncryptionHash(HomogenousHypergraph key, int smallBlockSize, int hashLength) {
+      super(key, smallBlockSize, hashLength);
+    }
+
+    byte[] compress(byte[] inputBlock, byte[] prevHash) {
+      return compressionFunction(inputBlock, prevHash);
+    }
+
+    void compressInPlace(byte[] inputBlock, byte[] chainingValue) {
+      compressionFunctionInPlace(inputBlock, chainingValue);
+    }
+  }
+
+  // endregion
+}
@@ -0,0 +1,186 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.CryptographicHash;
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.GaloisHypergraphSponge;
+import org.hypergraph_hash.GaloisHypergraphTreeHash;
+import org.hypergraph_hash.Hasher;
+import org.hypergraph_hash.provider.HypergraphHashProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestException;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hypergraph_hash.data.Key.KEY32;
+import static org.hypergraph_hash.operations.BitOperations.concatByteArrays;
+
+class HypergraphHashProviderTest {
+  private static final Random random = new Random();
+
+  private static final int MESSAGE_LEN = 10_000;
+  private static final int MAX_CHUNK_LEN = 100;
+
+  private static final int HASH_LENGTH = 32;
+
+  @ParameterizedTest
+  @MethodSource("hashProvider")
+  void digestStreamTest(CryptographicHash hashAlg) throws Exception {
+    // SETUP
+    byte[] message = new byte[MESSAGE_LEN];
+    random.nextBytes(message);
+
+    MessageDigest outputDigest = getDigest(hashAlg);
+    MessageDigest inputDigest = getDigest(hashAlg);
+
+    // EXECUTION
+    try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), outputDigest)) {
+      for (int offset = 0; offset < message.length; ) {
+        int length = Math.min(random.nextInt(MAX_CHUNK_LEN) + 1, message.length - offset);
+
+        out.write(message[offset]);
+        out.write(message, offset + 1, length - 1);
+        offset += length;
+      }
+    }
+
+    try (InputStream in = new DigestInputStream(new ByteArrayInputStream(message), inputDigest)) {
+      in.transferTo(OutputStream.nullOutputStream());
+    }
+
+    // ASSERTION
+    byte[] expected = hashAlg.hash(message);
+
+    assertThat(outputDigest.getDigestLength()).isEqualTo(hashAlg.getHashLength());
+    assertThat(outputDigest.digest()).isEqualTo(expected);
+    assertThat(inputDigest.digest()).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @MethodSource("hashProvider")
+  void cloneTest(CryptographicHash hashAlg) throws Exception {
+    // SETUP
+    byte[] prefix = new byte[1000];
+    byte[] suffix = new byte[100];
+    random.nextBytes(prefix);
+    random.nextBytes(suffix);
+
+    MessageDigest digest = getDigest(hashAlg);
+    digest.update(prefix);
+
+    // EXECUTION
+    MessageDigest fork = (MessageDigest) digest.clone();
+    fork.update(suffix);
+
+    byte[] output = new byte[HASH_LENGTH + 10];
+    int written = fork.digest(output, 5, HASH_LENGTH + 5);
+
+    // ASSERTION
+    assertThat(written).isEqualTo(HASH_LENGTH);
+    assertThat(output).containsSequence(hashAlg.hash(concatByteArrays(prefix, suffix)));
+    assertThat(digest.digest()).isEqualTo(hashAlg.hash(prefix));
+  }
+
+  @ParameterizedTest
+  @MethodSource("hashProvider")
+  void hasherDigestIntoBufferTest(CryptographicHash hashAlg) {
+    // SETUP
+    byte[] message = new byte[1000];
+    random.nextBytes(message);
+
+    Hasher hasher = hashAlg.newHasher();
+    byte[] output = new byte[HASH_LENGTH + 10];
+
+    // EXECUTION
+    hasher.update(message);
+    hasher.digest(output, 5, HASH_LENGTH);
+
+    // The hasher is reset
+    hasher.update(message);
+    byte[] repeated = hasher.digest();
+
+    // ASSERTION
+    assertThat(Arrays.copyOfRange(output, 5, 5 + HASH_LENGTH)).isEqualTo(hashAlg.hash(message));
+    assertThat(repeated).isEqualTo(hashAlg.hash(message));
+  }
+
+  @Test
+  void shortOutputBufferTest() throws NoSuchAlgorithmException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, HASH_LENGTH);
+
+    MessageDigest digest = getDigest(hashAlg);
+    digest.update(new byte[] {1, 2, 3});
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> digest.digest(new byte[HASH_LENGTH], 0, HASH_LENGTH - 1))
+            .isInstanceOf(DigestException.class);
+
+    // The failed call leaves the digest untouched
+    assertThat(digest.digest()).isEqualTo(hashAlg.hash(new byte[] {1, 2, 3}));
+  }
+
+  @Test
+  void emptyDigestLengthTest() throws Exception {
+    // SETUP
+    // Shorter than the block, which an empty message hashes to
+    var hashAlg = new GaloisHypergraphHash(KEY32, HASH_LENGTH / 2);
+
+    MessageDigest digest = getDigest(hashAlg);
+    byte[] output = new byte[HASH_LENGTH];
+
+    // EXECUTION
+    byte[] emptyDigest = digest.digest();
+    int written = digest.digest(output, 0, output.length);
+
+    // ASSERTION
+    assertThat(emptyDigest).hasSize(HASH_LENGTH / 2);
+    assertThat(written).isEqualTo(HASH_LENGTH / 2);
+    assertThat(output).startsWith(emptyDigest);
+  }
+
+  @Test
+  void duplicateAlgorithmNameTest() {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, HASH_LENGTH);
+    var otherHashAlg = new GaloisHypergraphHash(KEY32, HASH_LENGTH / 2);
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> new HypergraphHashProvider(hashAlg, otherHashAlg))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+
+  // region Providers
+
+  static Stream<CryptographicHash> hashProvider() {
+    return Stream.of(
+            new GaloisHypergraphHash(KEY32, HASH_LENGTH),
+            new GaloisHypergraphTreeHash(KEY32, HASH_LENGTH, 256, 2),
+            new GaloisHypergraphSponge(KEY32, 16, HASH_LENGTH)
+    );
+  }
+
+  // endregion
+
+
+  // region utilities
+
+  private static MessageDigest getDigest(CryptographicHash hashAlg) throws NoSuchAlgorithmException {
+    return MessageDigest.getInstance(hashAlg.getAlgorithmName(), new HypergraphHashProvider(hashAlg));
+  }
+
+  // endregion
+}
@@ -0,0 +1,125 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.HypergraphMac;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hypergraph_hash.data.Key.KEY32;
+import static org.hypergraph_hash.operations.BitOperations.concatByteArrays;
+
+class HypergraphMacTest {
+  private static final Random random = new Random();
+
+  private static final int MAX_MESSAGE_LEN = 500;
+  private static final int MESSAGES_COUNT = 100;
+
+  private static final int BLOCK_SIZE = 32;
+  private static final int HASH_LENGTH = 32;
+
+  @ParameterizedTest
+  @MethodSource("messageKeyProvider")
+  void hmacConstructionTest(byte[] message, byte[] key) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, HASH_LENGTH);
+    var mac = new HypergraphMac(hashAlg, key);
+
+    byte[] blockKey = key.length > BLOCK_SIZE ? hashAlg.hash(key) : key;
+
+    // EXECUTION
+    byte[] tag = mac.mac(message);
+
+    // ASSERTION
+    byte[] inner = hashAlg.hash(concatByteArrays(pad(blockKey, 0x36), message));
+    byte[] expected = hashAlg.hash(concatByteArrays(pad(blockKey, 0x5C), inner));
+
+    assertThat(tag).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageKeyProvider")
+  void verifyTest(byte[] message, byte[] key) {
+    // SETUP
+    var mac = new HypergraphMac(new GaloisHypergraphHash(KEY32, HASH_LENGTH), key);
+
+    byte[] framed = new byte[message.length + HASH_LENGTH + 3];
+    System.arraycopy(message, 0, framed, 3, message.length);
+    mac.mac(framed, 3, message.length, framed, message.length + 3);
+
+    // EXECUTION
+    boolean valid = mac.verify(framed, 3, message.length, framed, message.length + 3);
+
+    framed[framed.length - 1] ^= 1;
+    boolean tampered = mac.verify(framed, 3, message.length, framed, message.length + 3);
+
+    // ASSERTION
+    assertThat(valid).isTrue();
+    assertThat(tampered).isFalse();
+  }
+
+  @Test
+  void concurrentMacTest() {
+    // SETUP
+    byte[] key = new byte[16];
+    random.nextBytes(key);
+
+    var mac = new HypergraphMac(new GaloisHypergraphHash(KEY32, HASH_LENGTH), key);
+
+    byte[][] messages = new byte[1000][];
+    for (int i = 0; i < messages.length; i++) {
+      messages[i] = new byte[random.nextInt(MAX_MESSAGE_LEN)];
+      random.nextBytes(messages[i]);
+    }
+
+    byte[][] tags = Arrays.stream(messages).map(mac::mac).toArray(byte[][]::new);
+
+    // EXECUTION
+    long validCount = IntStream.range(0, messages.length).parallel()
+            .filter(i -> mac.verify(messages[i], tags[i]))
+            .count();
+
+    // ASSERTION
+    assertThat(validCount).isEqualTo(messages.length);
+  }
+
+
+  // region Providers
+
+  static Stream<Arguments> messageKeyProvider() {
+    return Stream.generate(() -> {
+              byte[] message = new byte[random.nextInt(MAX_MESSAGE_LEN)];
+              byte[] key = new byte[random.nextInt(2 * BLOCK_SIZE + 1)];
+
+              random.nextBytes(message);
+              random.nextBytes(key);
+
+              return Arguments.of(message, key);
+            })
+            .limit(MESSAGES_COUNT);
+  }
+
+  // endregion
+
+
+  // region utilities
+
+  private static byte[] pad(byte[] key, int pad) {
+    byte[] res = Arrays.copyOf(key, BLOCK_SIZE);
+
+    for (int i = 0; i < BLOCK_SIZE; i++) {
+      res[i] ^= (byte) pad;
+    }
+
+    return res;
+  }
+
+  // endregion
+}
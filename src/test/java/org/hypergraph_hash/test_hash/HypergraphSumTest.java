@@ -0,0 +1,213 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.cli.HypergraphSum;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hypergraph_hash.data.Key.KEY32;
+
+class HypergraphSumTest {
+  private static final Random random = new Random();
+
+  private static final int MAX_FILE_LEN = 100_000;
+
+  // KEY32 in key file format
+  private static final String KEY_FILE = """
+          # vertices of one hyperedge per line
+          0 1 7
+          1 8 5
+          2 10 3
+          3 7 31
+          4 5 6
+          5 25 1
+          6 2 9
+          7 4 2
+          8 22 1
+          9 6 8
+          10 7 9
+          11 0 15
+          12 13 2
+          13 11 14
+          14 22 3
+          15 5 9
+          16 10 22
+          17 12 19
+          18 3 25
+          19 16 28
+          20 7 31
+          21 9 14
+          22 18 27
+          23 4 30
+          24 11 26
+          25 8 21
+          26 15 29
+          27 6 20
+          28 13 23
+          29 17 24
+          30 0 31
+          31 19 25
+          """;
+
+  @TempDir
+  Path dir;
+
+  private Path keyFile;
+  private Path tree;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    keyFile = Files.writeString(dir.resolve("key.txt"), KEY_FILE);
+    tree = Files.createDirectories(dir.resolve("tree"));
+
+    createFile(tree.resolve("b.bin"));
+    createFile(tree.resolve("a.bin"));
+    createFile(Files.createDirectories(tree.resolve("sub")).resolve("c.bin"));
+    createFile(tree.resolve("sub").resolve("empty.bin"), 0);
+  }
+
+  @Test
+  void sumTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    var out = new ByteArrayOutputStream();
+
+    // EXECUTION
+    int status = run(out, "sum", "--key", keyFile.toString(), "--threads", "3", tree.toString());
+
+    // ASSERTION
+    assertThat(status).isZero();
+
+    List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+    List<Path> expectedOrder = List.of(
+            tree.resolve("a.bin"), tree.resolve("b.bin"),
+            tree.resolve("sub").resolve("c.bin"), tree.resolve("sub").resolve("empty.bin")
+    );
+
+    assertThat(lines).hasSize(expectedOrder.size());
+    for (int i = 0; i < lines.size(); i++) {
+      Path file = expectedOrder.get(i);
+
+      assertThat(lines.get(i)).isEqualTo(HexFormat.of().formatHex(hashAlg.hashFile(file)) + "  " + file);
+    }
+  }
+
+  @Test
+  void emptyFileLengthTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 16);
+    var out = new ByteArrayOutputStream();
+
+    // EXECUTION
+    int status = run(out, "sum", "--key", keyFile.toString(), "--length", "16", tree.toString());
+
+    // ASSERTION
+    assertThat(status).isZero();
+
+    Path empty = tree.resolve("sub").resolve("empty.bin");
+    Path nonEmpty = tree.resolve("a.bin");
+
+    assertThat(out.toString(StandardCharsets.UTF_8).lines())
+            .contains("00".repeat(16) + "  " + empty)
+            .contains(HexFormat.of().formatHex(hashAlg.hashFile(nonEmpty)) + "  " + nonEmpty);
+  }
+
+  @Test
+  void verifyTest() throws IOException {
+    // SETUP
+    Path manifest = dir.resolve("manifest.txt");
+    run(new ByteArrayOutputStream(), "sum", "--key", keyFile.toString(), "-o", manifest.toString(), tree.toString());
+
+    // EXECUTION
+    var out = new ByteArrayOutputStream();
+    int status = run(out, "verify", "--key", keyFile.toString(), "--threads", "2", manifest.toString());
+
+    // ASSERTION
+    assertThat(status).isZero();
+    assertThat(out.toString(StandardCharsets.UTF_8).lines())
+            .hasSize(4)
+            .allMatch(line -> line.endsWith(": OK"));
+  }
+
+  @Test
+  void verifyModifiedFileTest() throws IOException {
+    // SETUP
+    Path manifest = dir.resolve("manifest.txt");
+    run(new ByteArrayOutputStream(), "sum", "--key", keyFile.toString(), "-o", manifest.toString(), tree.toString());
+
+    Path modified = tree.resolve("b.bin");
+    byte[] data = Files.readAllBytes(modified);
+    data[data.length / 2] ^= 1;
+    Files.write(modified, data);
+
+    // EXECUTION
+    var out = new ByteArrayOutputStream();
+    int status = run(out, "verify", "--key", keyFile.toString(), manifest.toString());
+
+    // ASSERTION
+    assertThat(status).isEqualTo(1);
+    assertThat(out.toString(StandardCharsets.UTF_8).lines())
+            .contains(modified + ": FAILED", tree.resolve("a.bin") + ": OK");
+  }
+
+  @Test
+  void verifyDuplicatePathTest() throws IOException {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Path file = tree.resolve("a.bin");
+    String digest = HexFormat.of().formatHex(hashAlg.hashFile(file));
+
+    Path manifest = Files.write(dir.resolve("manifest.txt"), List.of(
+            digest + "  " + file,
+            "00".repeat(32) + "  " + file
+    ));
+
+    // EXECUTION
+    var out = new ByteArrayOutputStream();
+    int status = run(out, "verify", "--key", keyFile.toString(), manifest.toString());
+
+    // ASSERTION
+    assertThat(status).isEqualTo(1);
+    assertThat(out.toString(StandardCharsets.UTF_8).lines())
+            .containsExactly(file + ": OK", file + ": FAILED");
+  }
+
+  @Test
+  void missingKeyTest() {
+    // EXECUTION & ASSERTION
+    assertThat(run(new ByteArrayOutputStream(), "sum", tree.toString())).isEqualTo(2);
+  }
+
+
+  // region utilities
+
+  private static int run(ByteArrayOutputStream out, String... args) {
+    return HypergraphSum.run(args, new PrintStream(out, true, StandardCharsets.UTF_8),
+            new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8));
+  }
+
+  private static void createFile(Path file) throws IOException {
+    createFile(file, 1 + random.nextInt(MAX_FILE_LEN));
+  }
+
+  private static void createFile(Path file, int length) throws IOException {
+    byte[] data = new byte[length];
+    random.nextBytes(data);
+
+    Files.write(file, data);
+  }
+
+  // endregion
+}
@@ -0,0 +1,313 @@
+package org.hypergraph_hash.test_hash;
+
+import org.hypergraph_hash.GaloisHypergraphHash;
+import org.hypergraph_hash.Hasher;
+import org.hypergraph_hash.hypergraph.HomogenousHypergraph;
+import org.hypergraph_hash.hypergraph.HyperEdge;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hypergraph_hash.data.Key.KEY32;
+import static org.hypergraph_hash.operations.BitOperations.concatByteArrays;
+
+class MerkleDamgardHasherTest {
+  private static final Random random = new Random();
+
+  private static final int MAX_MESSAGE_LEN = 1000;
+  private static final int MESSAGES_COUNT = 1000;
+
+  private static final int MAX_CHUNK_LEN = 50;
+
+  private static final HomogenousHypergraph KEY6 = HomogenousHypergraph.ofEdges(
+          HyperEdge.of(0, 3, 4),
+          HyperEdge.of(2, 3, 4),
+          HyperEdge.of(1, 2, 3),
+          HyperEdge.of(0, 1, 5)
+  );
+
+  @ParameterizedTest
+  @MethodSource("messageKeyProvider")
+  void chunkedUpdateTest(byte[] message, HomogenousHypergraph key, int hashLength) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(key, hashLength);
+    Hasher hasher = hashAlg.newHasher();
+
+    // EXECUTION
+    for (int offset = 0; offset < message.length; ) {
+      int length = Math.min(random.nextInt(MAX_CHUNK_LEN + 1), message.length - offset);
+
+      hasher.update(message, offset, length);
+      offset += length;
+    }
+
+    // ASSERTION
+    assertThat(hasher.digest()).isEqualTo(hashAlg.hash(message));
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageKeyProvider")
+  void byteBufferUpdateTest(byte[] message, HomogenousHypergraph key, int hashLength) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(key, hashLength);
+    Hasher hasher = hashAlg.newHasher();
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(message.length);
+    direct.put(message).flip();
+
+    // EXECUTION
+    while (direct.hasRemaining()) {
+      int length = Math.min(random.nextInt(MAX_CHUNK_LEN + 1), direct.remaining());
+
+      hasher.update(direct.slice(direct.position(), length));
+      direct.position(direct.position() + length);
+    }
+
+    // ASSERTION
+    assertThat(hasher.digest()).isEqualTo(hashAlg.hash(message));
+  }
+
+  @Test
+  void digestResetsStateTest() {
+    // SETUP
+    byte[] message = new byte[100];
+    random.nextBytes(message);
+
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Hasher hasher = hashAlg.newHasher();
+
+    // EXECUTION
+    hasher.update(message);
+    byte[] first = hasher.digest();
+
+    hasher.update(message);
+    byte[] second = hasher.digest();
+
+    hasher.update(new byte[] {1, 2, 3});
+    hasher.reset();
+    hasher.update(message);
+    byte[] afterReset = hasher.digest();
+
+    // ASSERTION
+    assertThat(first)
+            .isEqualTo(second)
+            .isEqualTo(afterReset)
+            .isEqualTo(hashAlg.hash(message));
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageKeyProvider")
+  void offHeapHashTest(byte[] message, HomogenousHypergraph key, int hashLength) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(key, hashLength);
+
+    ByteBuffer direct = ByteBuffer.allocateDirect(message.length);
+    direct.put(message).flip();
+
+    // EXECUTION
+    byte[] bufferHash = hashAlg.hashBuffer(direct);
+
+    // Read-only heap buffers have no accessible array
+    byte[] readOnlyHash = hashAlg.hashBuffer(ByteBuffer.wrap(message).asReadOnlyBuffer());
+
+    // ASSERTION
+    byte[] expected = hashAlg.hash(message);
+
+    assertThat(direct.hasRemaining()).isFalse();
+    assertThat(bufferHash).isEqualTo(expected);
+    assertThat(readOnlyHash).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageKeyProvider")
+  void gatherHashTest(byte[] message, HomogenousHypergraph key, int hashLength) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(key, hashLength);
+
+    List<byte[]> parts = new ArrayList<>();
+    for (int offset = 0; offset < message.length; ) {
+      int length = Math.min(random.nextInt(MAX_CHUNK_LEN + 1), message.length - offset);
+
+      parts.add(Arrays.copyOfRange(message, offset, offset + length));
+      offset += length;
+    }
+
+    ByteBuffer[] buffers = parts.stream()
+            .map(part -> ByteBuffer.allocateDirect(part.length).put(part).flip())
+            .toArray(ByteBuffer[]::new);
+
+    // EXECUTION
+    byte[] listHash = hashAlg.hashParts(parts);
+    byte[] bufferHash = hashAlg.hashParts(buffers);
+
+    // ASSERTION
+    byte[] expected = hashAlg.hash(message);
+
+    assertThat(listHash).isEqualTo(expected);
+    assertThat(bufferHash).isEqualTo(expected);
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageKeyProvider")
+  void sharedPrefixCopyTest(byte[] prefix, HomogenousHypergraph key, int hashLength) {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(key, hashLength);
+
+    byte[] suffix1 = new byte[random.nextInt(MAX_CHUNK_LEN)];
+    byte[] suffix2 = new byte[random.nextInt(MAX_CHUNK_LEN)];
+    random.nextBytes(suffix1);
+    random.nextBytes(suffix2);
+
+    Hasher prefixHasher = hashAlg.newHasher();
+    prefixHasher.update(prefix);
+
+    // EXECUTION
+    Hasher fork1 = prefixHasher.copy();
+    fork1.update(suffix1);
+
+    Hasher fork2 = prefixHasher.copy();
+    fork2.update(suffix2);
+
+    // ASSERTION
+    assertThat(fork1.digest()).isEqualTo(hashAlg.hash(concatByteArrays(prefix, suffix1)));
+    assertThat(fork2.digest()).isEqualTo(hashAlg.hash(concatByteArrays(prefix, suffix2)));
+    assertThat(prefixHasher.digest()).isEqualTo(hashAlg.hash(prefix));
+  }
+
+  @ParameterizedTest
+  @MethodSource("messageKeyProvider")
+  void resumeFromCheckpointTest(byte[] message, HomogenousHypergraph key, int hashLength) {
+    // SETUP
+    int split = random.nextInt(message.length + 1);
+
+    var hasher = new GaloisHypergraphHash(key, hashLength).newHasher();
+    hasher.update(message, 0, split);
+
+    // EXECUTION
+    byte[] checkpoint = hasher.checkpoint();
+
+    var resumedAlg = new GaloisHypergraphHash(key, hashLength);
+    Hasher resumed = resumedAlg.resumeHasher(checkpoint);
+    resumed.update(message, split, message.length - split);
+
+    // ASSERTION
+    assertThat(resumed.digest()).isEqualTo(resumedAlg.hash(message));
+  }
+
+  @Test
+  void corruptedCheckpointTest() {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+
+    var hasher = hashAlg.newHasher();
+    hasher.update(new byte[] {1, 2, 3});
+
+    byte[] checkpoint = hasher.checkpoint();
+    byte[] truncated = Arrays.copyOf(checkpoint, checkpoint.length - 1);
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> hashAlg.resumeHasher(truncated))
+            .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new GaloisHypergraphHash(KEY6, 1).resumeHasher(checkpoint))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void foreignCheckpointTest() {
+    // SETUP
+    var hasher = new GaloisHypergraphHash(KEY32, 32).newHasher();
+    hasher.update(new byte[] {1, 2, 3});
+
+    byte[] checkpoint = hasher.checkpoint();
+
+    // Same block size, other key
+    List<HyperEdge> edges = new ArrayList<>();
+    for (int i = 0; i < 32; i++) {
+      edges.add(HyperEdge.of(i, (i + 1) % 32, (i + 5) % 32));
+    }
+    var otherKey = HomogenousHypergraph.ofEdges(edges);
+
+    // EXECUTION & ASSERTION
+    assertThatThrownBy(() -> new GaloisHypergraphHash(otherKey, 32).resumeHasher(checkpoint))
+            .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new GaloisHypergraphHash(KEY32, 16).resumeHasher(checkpoint))
+            .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @ParameterizedTest
+  @MethodSource("fileLengthProvider")
+  void mappedFileHashTest(int length) throws IOException {
+    // SETUP
+    byte[] content = new byte[length];
+    random.nextBytes(content);
+
+    Path file = Files.createTempFile("hypergraph-hash", ".bin");
+    Files.write(file, content);
+
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+
+    // EXECUTION
+    byte[] hash;
+    try {
+      hash = hashAlg.hashFile(file);
+    } finally {
+      Files.delete(file);
+    }
+
+    // ASSERTION
+    assertThat(hash).isEqualTo(hashAlg.hash(content));
+  }
+
+  @Test
+  void emptyInputTest() {
+    // SETUP
+    var hashAlg = new GaloisHypergraphHash(KEY32, 32);
+    Hasher hasher = hashAlg.newHasher();
+
+    // EXECUTION
+    hasher.update(new byte[0]);
+
+    // ASSERTION
+    assertThat(hasher.digest()).isEqualTo(hashAlg.hash(new byte[0]));
+  }
+
+
+  // region Providers
+
+  static Stream<Arguments> messageKeyProvider() {
+    return Stream.generate(() -> {
+              int length = random.nextInt(MAX_MESSAGE_LEN) + 1;
+              byte[] message = new byte[length];
+
+              random.nextBytes(message);
+
+              return message;
+            })
+            .limit(MESSAGES_COUNT)
+            .flatMap(message -> Stream.of(
+                    Arguments.of(message, KEY6, 1),
+                    Arguments.of(message, KEY32, 32)
+            ));
+  }
+
+  static int[] fileLengthProvider() {
+    return new int[] {
+            0, 1, 31, 32, 33, 1000, 1 << 20
+    };
+  }
+
+  // endregion
+}
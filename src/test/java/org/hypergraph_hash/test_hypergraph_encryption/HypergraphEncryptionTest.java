@@ -8,6 +8,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.stream.Stream;
 
@@ -67,6 +68,96 @@ class HypergraphEncryptionTest {
     assertThat(actualMessage).containsExactly(expectedMessage);
   }
 
+  @ParameterizedTest
+  @MethodSource("argumentsProvider")
+  void testDirectBufferEncryption(HomogenousHypergraph key, int smallBlockSize,
+                                  byte[] message, byte[] expectedCipher) {
+    // SETUP
+    ByteBuffer input = ByteBuffer.allocateDirect(message.length);
+    input.put(message).flip();
+    ByteBuffer output = ByteBuffer.allocateDirect(message.length);
+
+    // EXECUTION
+    var encryptor = new HypergraphEncryption(key, smallBlockSize);
+    encryptor.encryption(input, output);
+
+    byte[] actualCipher = new byte[message.length];
+    output.flip().get(actualCipher);
+
+    // ASSERTION
+    assertThat(input.hasRemaining()).isFalse();
+    assertThat(actualCipher).containsExactly(expectedCipher);
+  }
+
+  @ParameterizedTest
+  @MethodSource("argumentsProvider")
+  void testDirectBufferDecryption(HomogenousHypergraph key, int smallBlockSize,
+                                  byte[] expectedMessage, byte[] cipher) {
+    // SETUP
+    ByteBuffer input = ByteBuffer.allocateDirect(cipher.length);
+    input.put(cipher).flip();
+    byte[] actualMessage = new byte[cipher.length];
+
+    // EXECUTION
+    var encryptor = new HypergraphEncryption(key, smallBlockSize);
+    encryptor.decryption(input, ByteBuffer.wrap(actualMessage));
+
+    // ASSERTION
+    assertThat(actualMessage).containsExactly(expectedMessage);
+  }
+
+  @ParameterizedTest
+  @MethodSource("argumentsProvider")
+  void testCallerBufferCycle(HomogenousHypergraph key, int smallBlockSize,
+                             byte[] message, byte[] expectedCipher) {
+    // SETUP
+    int offset = 3;
+    byte[] buffer = new byte[2 * message.length + offset];
+    System.arraycopy(message, 0, buffer, offset, message.length);
+
+    var encryptor = new HypergraphEncryption(key, smallBlockSize);
+
+    // EXECUTION
+    encryptor.encrypt(buffer, offset, buffer, offset + message.length);
+    byte[] actualCipher = Arrays.copyOfRange(buffer, offset + message.length, buffer.length);
+
+    encryptor.decryptInPlace(buffer, offset + message.length);
+    byte[] actualMessage = Arrays.copyOfRange(buffer, offset + message.length, buffer.length);
+
+    // ASSERTION
+    assertThat(actualCipher).containsExactly(expectedCipher);
+    assertThat(actualMessage).containsExactly(message);
+    assertThat(Arrays.copyOfRange(buffer, offset, offset + message.length)).containsExactly(message);
+  }
+
+  @ParameterizedTest
+  @MethodSource("argumentsProvider")
+  void testBulkCycle(HomogenousHypergraph key, int smallBlockSize,
+                     byte[] message, byte[] expectedCipher) {
+    // SETUP
+    int blockCount = 5;
+    byte[] messages = new byte[blockCount * message.length];
+    byte[] expectedCiphers = new byte[blockCount * message.length];
+
+    for (int i = 0; i < blockCount; i++) {
+      System.arraycopy(message, 0, messages, i * message.length, message.length);
+      System.arraycopy(expectedCipher, 0, expectedCiphers, i * message.length, message.length);
+    }
+
+    var encryptor = new HypergraphEncryption(key, smallBlockSize);
+
+    // EXECUTION
+    byte[] actualCiphers = new byte[messages.length];
+    encryptor.encryptBlocks(messages, 0, actualCiphers, 0, blockCount);
+
+    byte[] actualMessages = Arrays.copyOf(actualCiphers, actualCiphers.length);
+    encryptor.decryptBlocks(actualMessages, 0, actualMessages, 0, blockCount);
+
+    // ASSERTION
+    assertThat(actualCiphers).containsExactly(expectedCiphers);
+    assertThat(actualMessages).containsExactly(messages);
+  }
+
   @Test
   void zeroMessageTest() {
     // SETUP
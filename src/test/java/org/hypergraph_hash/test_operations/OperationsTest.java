@@ -1,5 +1,6 @@
 package org.hypergraph_hash.test_operations;
 
+import org.hypergraph_hash.tables.GF8LogTables;
 import org.junit.jupiter.api.Test;
 
 import java.util.ArrayList;
@@ -44,4 +45,21 @@ class OperationsTest {
 
     assertThat(primitive).hasSize(16);
   }
+
+  @Test
+  void gf8LogTablesTest() {
+    for (int polynomial : getIrreducible(8)) {
+      var tables = GF8LogTables.of(polynomial);
+
+      assertThat(pow(tables.getGenerator(), 85, polynomial, GF8_SIZE)).isNotEqualTo(1);
+      assertThat(pow(tables.getGenerator(), 51, polynomial, GF8_SIZE)).isNotEqualTo(1);
+      assertThat(pow(tables.getGenerator(), 15, polynomial, GF8_SIZE)).isNotEqualTo(1);
+
+      for (int a = 0; a < GF8_SIZE; a++) {
+        for (int b = 0; b < GF8_SIZE; b++) {
+          assertThat(tables.mult(a, b)).isEqualTo(mult(a, b, polynomial, GF8_SIZE));
+        }
+      }
+    }
+  }
 }